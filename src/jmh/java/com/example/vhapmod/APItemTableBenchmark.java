@@ -0,0 +1,193 @@
+package com.example.vhapmod;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a received item id to what gets granted, through APItemTable
+ * against the range chain and per-call array literals it replaced. Both
+ * paths stop short of touching the player (which needs a running server)
+ * and hand the unlock name, or the filler item and final count, to the
+ * blackhole. Ids cycle over every item in the tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class APItemTableBenchmark {
+
+    private static final float[] MULTIPLIERS = {1.0f, 1.25f, 1.5f, 1.75f, 2.0f};
+
+    private long[] itemIds;
+    private int next;
+
+    @Setup
+    public void setup() {
+        itemIds = APTables.current().itemIds().clone();
+    }
+
+    @Benchmark
+    public void table(Blackhole bh) {
+        long itemId = itemIds[next++ % itemIds.length];
+        APItemTable.Handler handler = APItemTable.get(itemId);
+        if (handler instanceof APItemTable.Unlock unlock) {
+            switch (unlock.category()) {
+                case SKILL, TALENT, MOD, EXPERTISE -> bh.consume(unlock.name());
+                default -> bh.consume(null);
+            }
+        } else if (handler instanceof APItemTable.Filler filler) {
+            float multiplier = MULTIPLIERS[ThreadLocalRandom.current().nextInt(MULTIPLIERS.length)];
+            bh.consume(filler.itemName());
+            bh.consume(Math.max(1, (int) Math.floor(filler.baseCount() * multiplier)));
+        } else {
+            bh.consume(handler);
+        }
+    }
+
+    @Benchmark
+    public void rangeChain(Blackhole bh) {
+        long itemId = itemIds[next++ % itemIds.length];
+        switch (category(itemId)) {
+            case SKILL -> bh.consume(skillName(itemId));
+            case TALENT -> bh.consume(talentName(itemId));
+            case MOD -> bh.consume(modName(itemId));
+            case EXPERTISE -> bh.consume(expertiseName(itemId));
+            case FILLER -> filler(itemId, bh);
+            default -> bh.consume(null);
+        }
+    }
+
+    // ========== OLD PATH ==========
+    // ItemDeliveryQueue.Category.of and the APWebSocketClient item mapping as
+    // they were before APItemTable, minus the parts that touch the player.
+
+    private static ItemDeliveryQueue.Category category(long itemId) {
+        if (itemId >= 43000 && itemId < 43100) return ItemDeliveryQueue.Category.SKILL;
+        if (itemId >= 43100 && itemId < 43200) return ItemDeliveryQueue.Category.TALENT;
+        if (itemId >= 43200 && itemId < 43300) return ItemDeliveryQueue.Category.MOD;
+        if (itemId >= 43300 && itemId < 43400) return ItemDeliveryQueue.Category.EXPERTISE;
+        if (itemId >= 33700 && itemId < 33800) return ItemDeliveryQueue.Category.FILLER;
+        return ItemDeliveryQueue.Category.UNKNOWN;
+    }
+
+    private static String skillName(long itemId) {
+        String[] skills = {
+                "vhskill:nova", "vhskill:fireball", "vhskill:javelin", "vhskill:stonefall",
+                "vhskill:ice_bolt", "vhskill:implode", "vhskill:shield_bash", "vhskill:arcane",
+                "vhskill:earthquake", "vhskill:lightning_strike", "vhskill:dash",
+                "vhskill:vein_miner", "vhskill:ghost_walk", "vhskill:rampage", "vhskill:mega_jump",
+                "vhskill:shell", "vhskill:taunt", "vhskill:heal", "vhskill:angel",
+                "vhskill:empower", "vhskill:hunter", "vhskill:smite", "vhskill:storm_arrow",
+                "vhskill:battle_cry", "vhskill:rejuvenation_totem", "vhskill:mana_shield",
+                "vhskill:chaos_cube"
+        };
+
+        int index = (int) (itemId - 43000);
+        return index >= 0 && index < skills.length ? skills[index] : "vhskill:unknown";
+    }
+
+    private static String talentName(long itemId) {
+        String[] talents = {
+                "speed", "haste", "strength", "intelligence", "nucleus", "daze", "last_stand",
+                "berserking", "sorcery", "witchery", "frozen_impact", "frostbite", "methodical",
+                "depleted", "prudent", "stoneskin", "blight", "toxic_reaction", "arcana", "blazing",
+                "lucky_momentum", "frenzy", "lightning_finesse", "lightning_mastery",
+                "prime_amplification", "hunter's_instinct", "purist", "farmer_twerker",
+                "bountiful_harvest", "treasure_seeker", "horde_mastery", "champion_mastery",
+                "assassin_mastery", "dungeon_mastery", "fatal_strike", "mana_steal", "life_leech",
+                "cleave", "throw_power", "damage", "conduct", "ethereal"
+        };
+
+        int index = (int) (itemId - 43100);
+        return index >= 0 && index < talents.length ? talents[index] : "unknown";
+    }
+
+    private static String modName(long itemId) {
+        String[] mods = {
+                "colossal_chests", "simple_storage_network", "drawers", "mekanism_qio",
+                "refined_storage", "applied_energistics", "stack_upgrading", "auto_refill",
+                "auto_feeding", "double_pouches", "belts", "backpacks", "big_backpacks",
+                "soul_harvester", "junk_management", "iron_generators", "powah", "flux_networks",
+                "thermal_dynamos", "mekanism_generators", "botania_flux_field", "building_gadgets",
+                "weirding_gadgets", "mining_gadgets", "laser_bridges", "digital_miner", "entangled",
+                "botania", "mekanism", "thermal_expansion", "create", "waystones", "torchmaster",
+                "trashcans", "elevators", "altar_automation", "xnet", "modular_routers", "pipez",
+                "iron_furnaces", "vault_filters", "dark_utilities", "automatic_genius",
+                "easy_villagers", "easy_piglins", "botany_pots", "snad", "cagerium", "mob_spawners",
+                "phytogenic_insulator", "potions", "mixtures", "brews", "vault_compass",
+                "map_markers", "vault_map", "vault_decks"
+        };
+
+        int index = (int) (itemId - 43200);
+        return index >= 0 && index < mods.length ? mods[index] : "unknown";
+    }
+
+    private static String expertiseName(long itemId) {
+        String[] expertises = {
+                "lucky_altar", "fortuitous_finesse", "fortunate", "experienced", "infuser",
+                "crystalmancer", "trinketer", "divine", "unbreakable", "marketer", "bounty_hunter",
+                "angel", "jeweler", "artisan", "bartering", "companion's_loyalty"
+        };
+
+        int index = (int) (itemId - 43300);
+        return index >= 0 && index < expertises.length ? expertises[index] : "unknown";
+    }
+
+    private static void filler(long itemId, Blackhole bh) {
+        int index = (int) (itemId - 33700);
+        String[][] fillers = {
+                {"the_vault:cooked_vault_steak", "8"}, {"the_vault:chromatic_iron_ingot", "24"},
+                {"minecraft:shulker_box", "1"}, {"minecraft:experience_bottle", "20"},
+                {"minecraft:emerald", "50"}, {"minecraft:ender_pearl", "1"},
+                {"sophisticatedbackpacks:backpack", "1"},
+                {"sophisticatedbackpacks:pickup_upgrade", "1"},
+                {"sophisticatedbackpacks:void_upgrade", "1"}, {"the_vault:bounty_pearl", "10"},
+                {"the_vault:chromatic_iron_ingot", "32"}, {"the_vault:gemstone", "2"},
+                {"the_vault:chromatic_steel_ingot", "4"}, {"the_vault:vault_gold", "1"},
+                {"the_vault:vault_plating", "9"}, {"minecraft:diamond", "5"},
+                {"the_vault:vault_bronze", "81"}, {"the_vault:magnetite_ingot", "1"},
+                {"the_vault:vault_alloy", "1"}, {"the_vault:wild_focus", "1"},
+                {"the_vault:vault_plating", "12"}, {"the_vault:vault_bronze", "32"},
+                {"the_vault:vault_scrap", "1"}, {"the_vault:vault_gold", "1"},
+                {"the_vault:vault_diamond", "1"}, {"the_vault:plain_burger", "1"},
+                {"the_vault:crystal_seal_scout", "1"}, {"the_vault:silver_scrap", "1"},
+                {"the_vault:soul_shard", "1"}, {"the_vault:helmet", "1"},
+                {"the_vault:chestplate", "1"}, {"the_vault:leggings", "1"},
+                {"the_vault:boots", "1"}, {"the_vault:mod_box", "1"}, {"minecraft:barrier", "0"},
+                {"the_vault:crystal_seal_sage", "1"}, {"the_vault:phoenix_feather", "1"},
+                {"the_vault:vault_catalyst_fragment", "1"}, {"the_vault:inscription_piece", "1"},
+                {"the_vault:unidentified_artifact", "1"}, {"the_vault:vault_gold", "4"},
+                {"the_vault:trinket", "1"}, {"the_vault:vault_diamond", "4"},
+                {"the_vault:vault_gold", "20"}, {"the_vault:gem_pog", "1"},
+                {"minecraft:netherite_ingot", "1"}, {"the_vault:wardrobe", "1"},
+                {"the_vault:vault_bronze", "64"}, {"the_vault:gem_echo", "1"},
+                {"the_vault:mod_box", "2"}, {"the_vault:sour_orange", "1"},
+                {"minecraft:bamboo", "1"}, {"the_vault:trinket", "1"},
+                {"the_vault:vault_gold", "64"}, {"the_vault:neuralizer", "1"},
+                {"the_vault:perfect_echo_gem", "1"}, {"the_vault:lost_bounty", "1"},
+                {"the_vault:ember", "1"}, {"the_vault:omega_pog", "1"}
+        };
+
+        if (index >= 0 && index < fillers.length) {
+            String item = fillers[index][0];
+            int baseCount = Integer.parseInt(fillers[index][1]);
+            if (item.equals("minecraft:barrier")) return;
+            if (item.startsWith("the_vault:helmet") || item.startsWith("the_vault:chestplate")
+                    || item.startsWith("the_vault:leggings") || item.startsWith("the_vault:boots")) {
+                bh.consume(item.substring(item.indexOf(':') + 1));
+                return;
+            }
+
+            float[] multipliers = {1.0f, 1.25f, 1.5f, 1.75f, 2.0f};
+            float multiplier = multipliers[new Random().nextInt(multipliers.length)];
+            bh.consume(item);
+            bh.consume(Math.max(1, (int) Math.floor(baseCount * multiplier)));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.vhapmod;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NameTable lookups against the HashMap&lt;Long, String&gt; it replaced, over a
+ * DataPackage-sized category. Half the probed ids are missing. The footprint
+ * benchmark measures the retained heap of both with JOL and prints it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameTableBenchmark {
+
+    private static final long BASE_ID = 45_000L;
+
+    @Param({"2000", "20000"})
+    public int size;
+
+    private NameTable table;
+    private Map<Long, String> map;
+    private long[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        NameTable.Builder builder = new NameTable.Builder();
+        map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = "Location " + i + " - Skill Unlock";
+            builder.add(BASE_ID + 2L * i, name);
+            map.put(BASE_ID + 2L * i, name);
+        }
+        table = builder.build();
+
+        probes = new long[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = BASE_ID + (long) (i * 7919) % (2L * size);
+        }
+    }
+
+    private long nextProbe() {
+        return probes[next++ & (probes.length - 1)];
+    }
+
+    @Benchmark
+    public boolean containsTable() {
+        return table.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean containsMap() {
+        return map.containsKey(nextProbe());
+    }
+
+    @Benchmark
+    public String getTable() {
+        return table.get(nextProbe());
+    }
+
+    @Benchmark
+    public String getMap() {
+        return map.get(nextProbe());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf")
+    public long footprint() {
+        long tableBytes = GraphLayout.parseInstance(table).totalSize();
+        long mapBytes = GraphLayout.parseInstance(map).totalSize();
+        System.out.printf("%d names: NameTable %d bytes (estimated %d), HashMap<Long, String> %d bytes (estimated %d)%n",
+                size, tableBytes, table.footprintBytes(), mapBytes, table.naiveMapBytes());
+        return tableBytes;
+    }
+}
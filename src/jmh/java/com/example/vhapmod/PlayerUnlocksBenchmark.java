@@ -0,0 +1,69 @@
+package com.example.vhapmod;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A skill lock check through PlayerUnlocks against the per-player
+ * Map&lt;UUID, Set&lt;String&gt;&gt; it replaced. Half the checks are for a player
+ * with no unlocks, half of the rest for a locked skill.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerUnlocksBenchmark {
+
+    private static final int SKILLS = 200;
+
+    private final UUID player = UUID.randomUUID();
+    private final UUID stranger = UUID.randomUUID();
+
+    private String[] rawNames;
+    private Map<UUID, Set<String>> byName;
+    private Map<UUID, PlayerUnlocks> byId;
+    private int next;
+
+    @Setup
+    public void setup() {
+        rawNames = new String[SKILLS];
+        Set<String> names = new HashSet<>();
+        PlayerUnlocks unlocks = new PlayerUnlocks();
+        for (int i = 0; i < SKILLS; i++) {
+            rawNames[i] = "Skill " + i;
+            int id = UnlockRegistry.id(UnlockRegistry.Type.SKILL, rawNames[i]);
+            if (i % 2 == 0) {
+                names.add(UnlockRegistry.normalize(UnlockRegistry.Type.SKILL, rawNames[i]));
+                unlocks.add(id);
+            }
+        }
+        byName = new HashMap<>();
+        byName.put(player, names);
+        byId = new HashMap<>();
+        byId.put(player, unlocks);
+    }
+
+    @Benchmark
+    public boolean containsName() {
+        int i = next++;
+        UUID uuid = (i & 1) == 0 ? player : stranger;
+        String name = UnlockRegistry.normalize(UnlockRegistry.Type.SKILL, rawNames[(i >>> 1) % SKILLS]);
+        return byName.getOrDefault(uuid, new HashSet<>()).contains(name);
+    }
+
+    @Benchmark
+    public boolean containsId() {
+        int i = next++;
+        UUID uuid = (i & 1) == 0 ? player : stranger;
+        PlayerUnlocks unlocks = byId.get(uuid);
+        return unlocks != null && unlocks.contains(UnlockRegistry.id(UnlockRegistry.Type.SKILL, rawNames[(i >>> 1) % SKILLS]));
+    }
+}
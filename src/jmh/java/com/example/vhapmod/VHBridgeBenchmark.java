@@ -0,0 +1,100 @@
+package com.example.vhapmod;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reading a skill tree through VHBridge Calls against the getMethod/invoke
+ * path they replaced. The VH classes aren't on this classpath, so the tree
+ * is made of stand-ins with the same method names and three receiver
+ * classes, one of which overrides isUnlocked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VHBridgeBenchmark {
+
+    public static class Skill {
+        String name;
+        boolean unlocked;
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isUnlocked() {
+            return unlocked;
+        }
+    }
+
+    public static class TieredSkill extends Skill {}
+
+    public static class InvertedSkill extends Skill {
+        @Override
+        public boolean isUnlocked() {
+            return !unlocked;
+        }
+    }
+
+    public static class Tree {
+        final List<Skill> skills = new ArrayList<>();
+
+        public void iterate(Class<?> type, Consumer<Object> action) {
+            for (Skill skill : skills) {
+                if (type.isInstance(skill)) action.accept(skill);
+            }
+        }
+    }
+
+    private Tree tree;
+
+    @Setup
+    public void setup() {
+        tree = new Tree();
+        for (int i = 0; i < 60; i++) {
+            Skill skill = i % 3 == 0 ? new Skill() : i % 3 == 1 ? new TieredSkill() : new InvertedSkill();
+            skill.name = "skill_" + i;
+            skill.unlocked = i % 2 == 0;
+            tree.skills.add(skill);
+        }
+    }
+
+    @Benchmark
+    public int reflection() throws ReflectiveOperationException {
+        List<Object> skills = new ArrayList<>();
+        Consumer<Object> collect = skills::add;
+        Method iterate = tree.getClass().getMethod("iterate", Class.class, Consumer.class);
+        iterate.invoke(tree, Skill.class, collect);
+
+        int total = 0;
+        for (Object skill : skills) {
+            boolean unlocked = (boolean) skill.getClass().getMethod("isUnlocked").invoke(skill);
+            String name = (String) skill.getClass().getMethod("getName").invoke(skill);
+            if (unlocked && name != null) total += name.length();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int bridge() throws ReflectiveOperationException {
+        List<Object> skills = new ArrayList<>();
+        Consumer<Object> collect = skills::add;
+        VHBridge.ITERATE.invoke(tree, Skill.class, collect);
+
+        int total = 0;
+        for (Object skill : skills) {
+            boolean unlocked = VHBridge.IS_UNLOCKED.invokeBoolean(skill);
+            String name = VHBridge.GET_NAME.invokeString(skill);
+            if (unlocked && name != null) total += name.length();
+        }
+        return total;
+    }
+}
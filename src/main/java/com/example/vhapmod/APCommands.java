@@ -10,6 +10,8 @@ import net.minecraft.network.chat.TextComponent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+
 /**
  * Commands for managing AP connection
  */
@@ -43,6 +45,12 @@ public class APCommands {
             Commands.literal("apstatus")
                 .executes(APCommands::status)
         );
+
+        dispatcher.register(
+            Commands.literal("apreload")
+                .requires(source -> source.hasPermission(2))
+                .executes(APCommands::reload)
+        );
     }
     
     private static int connect(CommandContext<CommandSourceStack> ctx, String password) {
@@ -105,7 +113,32 @@ public class APCommands {
         } else {
             ctx.getSource().sendSuccess(new TextComponent("§eNot connected"), false);
         }
+
+        ItemDeliveryQueue delivery = client.getItemDelivery();
+        ctx.getSource().sendSuccess(new TextComponent(String.format(
+            "§7Item queue: %d pending, last tick %d delivered in %.2f ms (%d total)",
+            delivery.getDepth(), delivery.getLastTickDelivered(),
+            delivery.getLastTickMillis(), delivery.getTotalDelivered()
+        )), false);
+        ctx.getSource().sendSuccess(new TextComponent(String.format(
+            "§7Skipped %d PrintJSON message(s) for other slots", client.getSkippedPrintCount()
+        )), false);
         
         return 1;
     }
+
+    private static int reload(CommandContext<CommandSourceStack> ctx) {
+        try {
+            APTables.Snapshot tables = APTables.reload();
+            ctx.getSource().sendSuccess(new TextComponent(String.format(
+                "§aReloaded AP tables v%d from %s: %d locations, %d items",
+                tables.version(), tables.source(), tables.locations().size(), tables.itemIds().length
+            )), true);
+            return 1;
+        } catch (IOException e) {
+            LOGGER.error("AP table reload failed: {}", e.getMessage());
+            ctx.getSource().sendFailure(new TextComponent("§cReload failed, keeping current tables: " + e.getMessage()));
+            return 0;
+        }
+    }
 }
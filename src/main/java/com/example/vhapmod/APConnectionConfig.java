@@ -17,6 +17,20 @@ public class APConnectionConfig {
     public String password = "";
     public boolean autoConnect = false;
 
+    // LocationChecks batching: wait this long for more checks, or send once this many are queued
+    public long checkBatchWindowMs = 250;
+    public int checkBatchMaxSize = 64;
+
+    // Decoded AP packets buffered for the server thread before socket reads pause
+    public int inboundQueueCapacity = 256;
+
+    // Time the server thread may spend applying received items per tick (leftovers carry over)
+    public long itemDeliveryBudgetMs = 5;
+
+    // Auto-reconnect backoff: doubles from the base delay up to the max, with jitter
+    public long reconnectBaseDelayMs = 1000;
+    public long reconnectMaxDelayMs = 60000;
+
     public static APConnectionConfig load() {
         File file = new File(CONFIG_FILE);
         if (!file.exists()) {
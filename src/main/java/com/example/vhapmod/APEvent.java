@@ -0,0 +1,13 @@
+package com.example.vhapmod;
+
+/**
+ * Events handed from the AP I/O thread to the server thread.
+ * Decoded server packets are events themselves; the rest are raised by the socket.
+ */
+public sealed interface APEvent permits APPacket, APEvent.SocketClosed {
+
+    /**
+     * The websocket closed or failed. Handled on the server thread like any packet.
+     */
+    record SocketClosed(String reason) implements APEvent {}
+}
@@ -0,0 +1,56 @@
+package com.example.vhapmod;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free hand-off from the AP I/O thread to the server thread.
+ *
+ * The capacity is a soft bound: offer() never blocks or drops, it just reports
+ * that the queue is full so the I/O side can stop requesting websocket messages
+ * until the server tick has drained it.
+ */
+public class APEventQueue {
+
+    private final ConcurrentLinkedQueue<APEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public APEventQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Producer side. Returns false once the queue is at or over capacity.
+     */
+    public boolean offer(APEvent event) {
+        queue.offer(event);
+        return size.incrementAndGet() < capacity;
+    }
+
+    /**
+     * Consumer side (server thread only). Returns null when empty.
+     */
+    public APEvent poll() {
+        APEvent event = queue.poll();
+        if (event != null) {
+            size.decrementAndGet();
+        }
+        return event;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isFull() {
+        return size.get() >= capacity;
+    }
+
+    /**
+     * True once the queue has drained far enough to resume reading.
+     */
+    public boolean hasRoom() {
+        return size.get() <= capacity / 2;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.vhapmod;
+
+/**
+ * One game's DataPackage: item and location names by id.
+ */
+public record APGameData(String game, String checksum, NameTable itemNames, NameTable locationNames) {
+
+    public String itemName(long itemId) {
+        return itemNames.get(itemId);
+    }
+
+    public String locationName(long locationId) {
+        return locationNames.get(locationId);
+    }
+
+    public long footprintBytes() {
+        return itemNames.footprintBytes() + locationNames.footprintBytes();
+    }
+
+    public long naiveMapBytes() {
+        return itemNames.naiveMapBytes() + locationNames.naiveMapBytes();
+    }
+}
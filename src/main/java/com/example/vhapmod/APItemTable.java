@@ -0,0 +1,259 @@
+package com.example.vhapmod;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every AP item this mod understands, keyed by item id.
+ *
+ * The entries come from the item section of APTables, parsed into sorted
+ * parallel arrays. Each entry is a handler with its canonical name (or item
+ * and count) already resolved, so delivering an item is a binary search plus
+ * one call - no per-item arrays or parsing. Handlers are only used from the
+ * server thread.
+ */
+public final class APItemTable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // Random filler multiplier (1.0x, 1.25x, 1.5x, 1.75x, or 2.0x)
+    private static final float[] FILLER_MULTIPLIERS = {1.0f, 1.25f, 1.5f, 1.75f, 2.0f};
+
+    /**
+     * Delivers one received item to a player. Runs on the server thread.
+     */
+    public interface Handler {
+        ItemDeliveryQueue.Category category();
+
+        /**
+         * Returns false if nothing was granted; the item is then left pending
+         * and handed out again the next time the server sends it.
+         */
+        boolean deliver(ServerPlayer player, VaultHuntersManager manager);
+    }
+
+    /**
+     * Skill / talent / mod / expertise unlock.
+     */
+    public record Unlock(ItemDeliveryQueue.Category category, String name) implements Handler {
+        @Override
+        public boolean deliver(ServerPlayer player, VaultHuntersManager manager) {
+            return switch (category) {
+                case SKILL -> manager.unlockSkill(player, name);
+                case TALENT -> manager.unlockTalent(player, name);
+                case MOD -> manager.unlockMod(player, name);
+                case EXPERTISE -> manager.unlockExpertise(player, name);
+                default -> {
+                    LOGGER.warn("Unlock entry with category {}: {}", category, name);
+                    yield false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Plain filler item, given with a random multiplier on the base count.
+     * The Item is looked up on first delivery (the registry isn't populated at
+     * class load) and kept as a prototype stack that later grants copy.
+     */
+    public static final class Filler implements Handler {
+        private final String itemName;
+        private final String displayName;
+        private final int baseCount;
+        private ItemStack prototype;
+
+        Filler(String itemName, int baseCount) {
+            this.itemName = itemName;
+            this.displayName = itemName.substring(itemName.indexOf(':') + 1);
+            this.baseCount = baseCount;
+        }
+
+        public String itemName() {
+            return itemName;
+        }
+
+        public int baseCount() {
+            return baseCount;
+        }
+
+        @Override
+        public ItemDeliveryQueue.Category category() {
+            return ItemDeliveryQueue.Category.FILLER;
+        }
+
+        @Override
+        public boolean deliver(ServerPlayer player, VaultHuntersManager manager) {
+            ItemStack proto = prototype();
+            if (proto.isEmpty()) return false;
+
+            float multiplier = FILLER_MULTIPLIERS[ThreadLocalRandom.current().nextInt(FILLER_MULTIPLIERS.length)];
+            int finalCount = Math.max(1, (int)Math.floor(baseCount * multiplier));
+
+            // Split into max-size stacks; whatever doesn't fit is dropped at the player's feet
+            int maxStack = proto.getMaxStackSize();
+            int remaining = finalCount;
+            while (remaining > 0) {
+                int count = Math.min(remaining, maxStack);
+                remaining -= count;
+
+                ItemStack stack = proto.copy();
+                stack.setCount(count);
+                player.getInventory().add(stack);
+                if (!stack.isEmpty()) {
+                    player.drop(stack, false);
+                }
+            }
+
+            LOGGER.info("Gave {} x{} ({}x multiplier) to {}",
+                    itemName, finalCount, multiplier, player.getName().getString());
+
+            player.sendMessage(
+                    new TextComponent("[AP] Received: " + finalCount + "x " + displayName)
+                            .withStyle(ChatFormatting.GRAY),
+                    player.getUUID()
+            );
+            return true;
+        }
+
+        private ItemStack prototype() {
+            if (prototype == null) {
+                Item item = ForgeRegistries.ITEMS.getValue(new ResourceLocation(itemName));
+                if (item == null || item == Items.AIR) {
+                    LOGGER.warn("Filler item {} is not registered, skipping it", itemName);
+                    prototype = ItemStack.EMPTY;
+                } else {
+                    prototype = new ItemStack(item);
+                }
+            }
+            return prototype;
+        }
+
+        @Override
+        public String toString() {
+            return "Filler[" + itemName + " x" + baseCount + "]";
+        }
+    }
+
+    /**
+     * Vault gear piece, generated at the player's vault level.
+     */
+    public record VaultGear(String gearType) implements Handler {
+        @Override
+        public ItemDeliveryQueue.Category category() {
+            return ItemDeliveryQueue.Category.FILLER;
+        }
+
+        @Override
+        public boolean deliver(ServerPlayer player, VaultHuntersManager manager) {
+            giveVaultGear(player, gearType);
+            return true;
+        }
+    }
+
+    private APItemTable() {}
+
+    // ========== LOOKUP ==========
+
+    /**
+     * Handler for an item id, or null if the id is unknown.
+     */
+    public static Handler get(long itemId) {
+        return APTables.current().item(itemId);
+    }
+
+    public static int size() {
+        return APTables.current().itemIds().length;
+    }
+
+    // ========== DELIVERY ==========
+
+    private static void giveVaultGear(ServerPlayer player, String gearType) {
+        try {
+            // Get player's vault level
+            int playerLevel = VHDataReader.getPlayerLevel(player);
+
+            // Get the item based on type
+
+            Item item;
+            switch (gearType) {
+                case "helmet" -> {
+                    item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:helmet"));
+                }
+                case "chestplate" -> {
+                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:chestplate"));
+                }
+                case "leggings" -> {
+                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:leggings"));
+                }
+                case "boots" -> {
+                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:boots"));
+                }
+                default -> {
+                    LOGGER.warn("Unknown gear type: {}", gearType);
+                    //default to boots or smth idk
+                    item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:boots"));
+                }
+            }
+
+
+            // Create ItemStack
+            net.minecraft.world.item.ItemStack stack = new net.minecraft.world.item.ItemStack(item);
+
+            // Generate gear at player's level with VH's gear API, resolved once by VHBridge
+            if (VHBridge.createGear(stack, playerLevel)) {
+                LOGGER.info("Created vault {} at level {} for {}", gearType, playerLevel, player.getName().getString());
+
+            } else {
+                // VH API not found, try alternative approach
+                LOGGER.warn("VH gear API not found, using fallback method");
+
+                // Fallback: Just set the level in NBT manually
+                net.minecraft.nbt.CompoundTag tag = stack.getOrCreateTag();
+                tag.putInt("vaultGearLevel", playerLevel);
+
+                // Add basic client cache so it displays correctly
+                net.minecraft.nbt.CompoundTag clientCache = new net.minecraft.nbt.CompoundTag();
+                clientCache.putInt("rarity", 0); // Common rarity
+                clientCache.putByte("hasModifierLEGENDARY", (byte)0);
+                tag.put("clientCache", clientCache);
+            }
+
+            // Give the item to the player
+            boolean added = player.addItem(stack);
+
+            if (!added) {
+                // Inventory full, drop at feet
+                player.drop(stack, false);
+            }
+
+            player.sendMessage(
+                    new net.minecraft.network.chat.TextComponent(
+                            String.format("[AP] Received: Vault %s (Level %d)", gearType, playerLevel))
+                            .withStyle(net.minecraft.ChatFormatting.GRAY),
+                    player.getUUID()
+            );
+
+        } catch (Exception e) {
+            LOGGER.error("Failed to give vault gear: ", e);
+            // Fallback: give level 0 gear
+            String command = String.format("give %s the_vault:%s 1",
+                    player.getName().getString(), gearType);
+            player.getServer().getCommands().performCommand(
+                    player.getServer().createCommandSourceStack()
+                            .withSuppressedOutput()
+                            .withPermission(2),
+                    command
+            );
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.vhapmod;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed server -> client packets, produced by {@link APPacketDecoder}.
+ * Only the fields this mod actually uses are kept.
+ */
+public sealed interface APPacket extends APEvent {
+
+    String cmd();
+
+    /**
+     * checksums maps each game in the room to its DataPackage checksum.
+     */
+    record RoomInfo(String seedName, Map<String, String> checksums) implements APPacket {
+        public String cmd() { return "RoomInfo"; }
+    }
+
+    /**
+     * playerAliases and slotGames are keyed by slot number.
+     */
+    record Connected(int team, int slot, long[] checkedLocations, long[] missingLocations,
+                     SlotData slotData, Map<Integer, String> playerAliases,
+                     Map<Integer, String> slotGames) implements APPacket {
+        public String cmd() { return "Connected"; }
+    }
+
+    /**
+     * YAML options sent in Connected.slot_data. Missing options are null.
+     */
+    record SlotData(Integer vaultChestChecks, Float woodenChestWeight, Float normalChestWeight) {
+        static final SlotData EMPTY = new SlotData(null, null, null);
+    }
+
+    /**
+     * ReceivedItems, stored as parallel arrays (one entry per NetworkItem).
+     */
+    record ReceivedItems(int index, long[] items, long[] locations, int[] players, int[] flags) implements APPacket {
+        public String cmd() { return "ReceivedItems"; }
+
+        public int size() { return items.length; }
+    }
+
+    record Print(String text) implements APPacket {
+        public String cmd() { return "Print"; }
+    }
+
+    /**
+     * receiving and itemPlayer are the slots from the "receiving" and "item.player"
+     * fields of item messages, -1 when absent.
+     */
+    record PrintJSON(String type, List<TextPart> parts, int receiving, int itemPlayer) implements APPacket {
+        public String cmd() { return "PrintJSON"; }
+
+        public String plainText() {
+            StringBuilder sb = new StringBuilder();
+            for (TextPart part : parts) {
+                if (part.text() != null) sb.append(part.text());
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * One JSONMessagePart of a PrintJSON packet. player is -1 when absent.
+     */
+    record TextPart(String type, String text, int player) {}
+
+    /**
+     * Only the checked_locations delta is kept; other room fields are ignored.
+     */
+    record RoomUpdate(long[] checkedLocations) implements APPacket {
+        public String cmd() { return "RoomUpdate"; }
+    }
+
+    record DataPackage(List<APGameData> games) implements APPacket {
+        public String cmd() { return "DataPackage"; }
+    }
+
+    record ConnectionRefused(List<String> errors) implements APPacket {
+        public String cmd() { return "ConnectionRefused"; }
+    }
+
+    /**
+     * Any packet we don't decode (LocationInfo, Retrieved, SetReply, Bounced, ...).
+     */
+    record Other(String cmd) implements APPacket {}
+}
@@ -0,0 +1,469 @@
+package com.example.vhapmod;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for Archipelago server frames.
+ *
+ * Reads each packet straight into an {@link APPacket} record with Gson's JsonReader,
+ * so a large ReceivedItems or Connected packet never exists as a JsonObject tree.
+ * Unknown keys are skipped without being materialized.
+ */
+public final class APPacketDecoder {
+
+    private APPacketDecoder() {}
+
+    /**
+     * Decode every packet in a frame (a JSON array of packets, or a single packet).
+     */
+    public static void decode(Reader frame, Consumer<APPacket> out) throws IOException {
+        JsonReader reader = new JsonReader(frame);
+        JsonToken token = reader.peek();
+
+        if (token == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    APPacket packet = readPacket(reader);
+                    if (packet != null) out.accept(packet);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            APPacket packet = readPacket(reader);
+            if (packet != null) out.accept(packet);
+        } else {
+            throw new IOException("Unexpected JSON type: " + token);
+        }
+    }
+
+    /**
+     * Reader over the fragments of one websocket message, so the parts
+     * never have to be joined into a single String.
+     */
+    public static Reader fragmentReader(List<? extends CharSequence> fragments) {
+        return new FragmentReader(fragments);
+    }
+
+    // ========== PACKET ==========
+
+    private static APPacket readPacket(JsonReader reader) throws IOException {
+        // "cmd" is not guaranteed to be the first key, so collect every field we
+        // understand and build the record once the object is closed
+        String cmd = null;
+        int team = 0;
+        int slot = 0;
+        int index = 0;
+        long[] checkedLocations = null;
+        long[] missingLocations = null;
+        APPacket.SlotData slotData = APPacket.SlotData.EMPTY;
+        ItemArrays items = null;
+        String text = null;
+        String type = null;
+        List<APPacket.TextPart> parts = null;
+        List<String> errors = null;
+        String seedName = null;
+        Map<String, String> checksums = null;
+        Map<Integer, String> playerAliases = null;
+        Map<Integer, String> slotGames = null;
+        List<APGameData> games = null;
+        int receiving = -1;
+        int itemPlayer = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "cmd" -> cmd = reader.nextString();
+                case "team" -> team = reader.nextInt();
+                case "slot" -> slot = reader.nextInt();
+                case "index" -> index = reader.nextInt();
+                case "checked_locations" -> checkedLocations = readLongArray(reader);
+                case "missing_locations" -> missingLocations = readLongArray(reader);
+                case "slot_data" -> slotData = readSlotData(reader);
+                case "items" -> items = readItems(reader);
+                case "text" -> text = reader.nextString();
+                case "type" -> type = reader.nextString();
+                case "data" -> {
+                    // PrintJSON parts are an array, a DataPackage is an object
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        games = readDataPackage(reader);
+                    } else {
+                        parts = readTextParts(reader);
+                    }
+                }
+                case "errors" -> errors = readStringList(reader);
+                case "seed_name" -> seedName = reader.nextString();
+                case "receiving" -> receiving = reader.nextInt();
+                case "item" -> itemPlayer = readItemPlayer(reader);
+                case "datapackage_checksums" -> checksums = readStringMap(reader);
+                case "players" -> playerAliases = readPlayerAliases(reader);
+                case "slot_info" -> slotGames = readSlotGames(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (cmd == null) return null;
+
+        return switch (cmd) {
+            case "RoomInfo" -> new APPacket.RoomInfo(seedName, checksums != null ? checksums : Map.of());
+            case "Connected" -> new APPacket.Connected(team, slot,
+                    checkedLocations != null ? checkedLocations : new long[0],
+                    missingLocations != null ? missingLocations : new long[0],
+                    slotData,
+                    playerAliases != null ? playerAliases : Map.of(),
+                    slotGames != null ? slotGames : Map.of());
+            case "RoomUpdate" -> new APPacket.RoomUpdate(checkedLocations != null ? checkedLocations : new long[0]);
+            case "DataPackage" -> new APPacket.DataPackage(games != null ? games : List.of());
+            case "ReceivedItems" -> items != null
+                    ? new APPacket.ReceivedItems(index, items.items(), items.locations(), items.players(), items.flags())
+                    : new APPacket.ReceivedItems(index, new long[0], new long[0], new int[0], new int[0]);
+            case "Print" -> new APPacket.Print(text != null ? text : "");
+            case "PrintJSON" -> new APPacket.PrintJSON(type, parts != null ? parts : List.of(), receiving, itemPlayer);
+            case "ConnectionRefused" -> new APPacket.ConnectionRefused(errors != null ? errors : List.of());
+            default -> new APPacket.Other(cmd);
+        };
+    }
+
+    // ========== FIELDS ==========
+
+    private record ItemArrays(long[] items, long[] locations, int[] players, int[] flags) {}
+
+    private static ItemArrays readItems(JsonReader reader) throws IOException {
+        long[] items = new long[64];
+        long[] locations = new long[64];
+        int[] players = new int[64];
+        int[] flags = new int[64];
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (count == items.length) {
+                int newSize = count * 2;
+                items = Arrays.copyOf(items, newSize);
+                locations = Arrays.copyOf(locations, newSize);
+                players = Arrays.copyOf(players, newSize);
+                flags = Arrays.copyOf(flags, newSize);
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "item" -> items[count] = reader.nextLong();
+                    case "location" -> locations[count] = reader.nextLong();
+                    case "player" -> players[count] = reader.nextInt();
+                    case "flags" -> flags[count] = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            count++;
+        }
+        reader.endArray();
+
+        return new ItemArrays(
+                Arrays.copyOf(items, count),
+                Arrays.copyOf(locations, count),
+                Arrays.copyOf(players, count),
+                Arrays.copyOf(flags, count));
+    }
+
+    /**
+     * The "player" of a PrintJSON NetworkItem, or -1.
+     */
+    private static int readItemPlayer(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return -1;
+        }
+
+        int player = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("player") && reader.peek() == JsonToken.NUMBER) {
+                player = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return player;
+    }
+
+    private static APPacket.SlotData readSlotData(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return APPacket.SlotData.EMPTY;
+        }
+
+        Integer chestChecks = null;
+        Float woodenWeight = null;
+        Float normalWeight = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "vault_chest_checks" -> chestChecks = reader.nextInt();
+                case "wooden_chest_weight" -> woodenWeight = (float) reader.nextDouble();
+                case "normal_chest_weight" -> normalWeight = (float) reader.nextDouble();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new APPacket.SlotData(chestChecks, woodenWeight, normalWeight);
+    }
+
+    private static List<APPacket.TextPart> readTextParts(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return List.of();
+        }
+
+        List<APPacket.TextPart> parts = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String type = null;
+            String text = null;
+            int player = -1;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "type" -> type = reader.nextString();
+                    case "text" -> text = reader.nextString();
+                    case "player" -> player = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            parts.add(new APPacket.TextPart(type, text, player));
+        }
+        reader.endArray();
+        return parts;
+    }
+
+    private static List<APGameData> readDataPackage(JsonReader reader) throws IOException {
+        List<APGameData> games = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("games") || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String game = reader.nextName();
+                games.add(readGameData(reader, game));
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return games;
+    }
+
+    /**
+     * Read one game's package object. Also used for the on-disk cache, which has the same layout.
+     */
+    public static APGameData readGameData(JsonReader reader, String game) throws IOException {
+        String checksum = "";
+        NameTable itemNames = NameTable.EMPTY;
+        NameTable locationNames = NameTable.EMPTY;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "checksum" -> checksum = reader.nextString();
+                case "item_name_to_id" -> itemNames = readNameToId(reader);
+                case "location_name_to_id" -> locationNames = readNameToId(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new APGameData(game, checksum, itemNames, locationNames);
+    }
+
+    private static NameTable readNameToId(JsonReader reader) throws IOException {
+        NameTable.Builder names = new NameTable.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            names.add(reader.nextLong(), name);
+        }
+        reader.endObject();
+        return names.build();
+    }
+
+    private static Map<String, String> readStringMap(JsonReader reader) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.STRING) {
+                values.put(name, reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return values;
+    }
+
+    private static Map<Integer, String> readPlayerAliases(JsonReader reader) throws IOException {
+        Map<Integer, String> aliases = new HashMap<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int playerSlot = -1;
+            String alias = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "slot" -> playerSlot = reader.nextInt();
+                    case "alias" -> alias = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (playerSlot >= 0 && alias != null) {
+                aliases.put(playerSlot, alias);
+            }
+        }
+        reader.endArray();
+        return aliases;
+    }
+
+    private static Map<Integer, String> readSlotGames(JsonReader reader) throws IOException {
+        Map<Integer, String> games = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int playerSlot = Integer.parseInt(reader.nextName());
+            String game = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("game") && reader.peek() == JsonToken.STRING) {
+                    game = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (game != null) {
+                games.put(playerSlot, game);
+            }
+        }
+        reader.endObject();
+        return games;
+    }
+
+    private static long[] readLongArray(JsonReader reader) throws IOException {
+        long[] values = new long[64];
+        int count = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = reader.nextLong();
+        }
+        reader.endArray();
+        return Arrays.copyOf(values, count);
+    }
+
+    private static List<String> readStringList(JsonReader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(reader.nextString());
+        }
+        reader.endArray();
+        return values;
+    }
+
+    // ========== INPUT ==========
+
+    private static final class FragmentReader extends Reader {
+        private final List<? extends CharSequence> fragments;
+        private int fragment = 0;
+        private int offset = 0;
+
+        FragmentReader(List<? extends CharSequence> fragments) {
+            this.fragments = fragments;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) {
+            if (len == 0) return 0;
+            while (fragment < fragments.size()) {
+                CharSequence current = fragments.get(fragment);
+                int available = current.length() - offset;
+                if (available <= 0) {
+                    fragment++;
+                    offset = 0;
+                    continue;
+                }
+                int n = Math.min(len, available);
+                if (current instanceof String s) {
+                    s.getChars(offset, offset + n, buf, off);
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        buf[off + i] = current.charAt(offset + i);
+                    }
+                }
+                offset += n;
+                return n;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -7,9 +7,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.example.vhapmod.network.APUnlockSyncMessage;
 import net.minecraftforge.network.NetworkDirection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import net.minecraft.network.chat.MutableComponent;
@@ -17,18 +16,12 @@ import net.minecraft.network.chat.MutableComponent;
 /**
  * Manages which skills are unlocked by Archipelago for each player.
  * Skills are locked by default and must be unlocked by receiving items from AP.
+ * The unlocks themselves live on the player (see PlayerUnlocksCapability).
  */
 public class APSkillLockManager {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    // Track unlocked skills per player
-    // UUID -> Set of unlocked skill names
-    private static final Map<UUID, Set<String>> unlockedSkills = new HashMap<>();
-    private static final Map<UUID, Set<String>> unlockedTalents = new HashMap<>();
-    private static final Map<UUID, Set<String>> unlockedExpertises = new HashMap<>();
-    private static final Map<UUID, Set<String>> unlockedMods = new HashMap<>();
-
     // Debug mode - set to true to unlock everything (for testing without AP)
     private static boolean DEBUG_MODE = false;
 
@@ -40,14 +33,7 @@ public class APSkillLockManager {
             return true; // All skills unlocked in debug mode
         }
 
-        UUID uuid = player.getUUID();
-
-        // Normalize the skill name
-        String normalizedName = normalizeSkillName(skillName);
-
-        // Check if player has this skill unlocked
-        Set<String> playerSkills = unlockedSkills.getOrDefault(uuid, new HashSet<>());
-        boolean unlocked = playerSkills.contains(normalizedName);
+        boolean unlocked = isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.SKILL, skillName));
 
         if (!unlocked) {
             // Send message to player
@@ -63,103 +49,75 @@ public class APSkillLockManager {
         return unlocked;
     }
 
+    /**
+     * Silent check by interned id (see UnlockRegistry), for mixins and the enforcer
+     */
+    public static boolean isUnlockedSilent(ServerPlayer player, int id) {
+        if (DEBUG_MODE) return true;
+        PlayerUnlocks unlocked = PlayerUnlocksCapability.get(player);
+        return unlocked != null && unlocked.contains(id);
+    }
+
     /**
      * Silent check methods for enforcer (no warning messages)
      */
     public static boolean isSkillUnlockedSilent(ServerPlayer player, String skillName) {
-        if (DEBUG_MODE) return true;
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeSkillName(skillName);
-        Set<String> playerSkills = unlockedSkills.getOrDefault(uuid, new HashSet<>());
-        return playerSkills.contains(normalizedName);
+        return isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.SKILL, skillName));
     }
 
     public static boolean isExpertiseUnlockedSilent(ServerPlayer player, String expertiseName) {
-        if (DEBUG_MODE) return true;
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeExpertiseName(expertiseName);
-        Set<String> playerExpertises = unlockedExpertises.getOrDefault(uuid, new HashSet<>());
-        return playerExpertises.contains(normalizedName);
+        return isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.EXPERTISE, expertiseName));
     }
 
     public static boolean isModUnlockedSilent(ServerPlayer player, String modName) {
-        if (DEBUG_MODE) return true;
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeModName(modName);
-        Set<String> playerMods = unlockedMods.getOrDefault(uuid, new HashSet<>());
-        return playerMods.contains(normalizedName);
+        return isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.MOD, modName));
     }
-    public static boolean isTalentUnlockedSilent(ServerPlayer player, String talentName) {
-        if (DEBUG_MODE) {
-            return true;
-        }
 
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeTalentName(talentName);
-
-        Set<String> playerTalents = unlockedTalents.getOrDefault(uuid, new HashSet<>());
-        return playerTalents.contains(normalizedName);
+    public static boolean isTalentUnlockedSilent(ServerPlayer player, String talentName) {
+        return isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.TALENT, talentName));
     }
 
     /**
      * Check if a talent is unlocked for a player
      */
     public static boolean isTalentUnlocked(ServerPlayer player, String talentName) {
-        if (DEBUG_MODE) {
-            return true;
-        }
-
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeTalentName(talentName);
-
-        Set<String> playerTalents = unlockedTalents.getOrDefault(uuid, new HashSet<>());
-        return playerTalents.contains(normalizedName);
+        return isTalentUnlockedSilent(player, talentName);
     }
 
     /**
      * Check if an expertise is unlocked for a player
      */
     public static boolean isExpertiseUnlocked(ServerPlayer player, String expertiseName) {
-        if (DEBUG_MODE) {
-            return true;
-        }
-
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeExpertiseName(expertiseName);
-
-        Set<String> playerExpertises = unlockedExpertises.getOrDefault(uuid, new HashSet<>());
-        return playerExpertises.contains(normalizedName);
+        return isExpertiseUnlockedSilent(player, expertiseName);
     }
 
     /**
      * Check if a mod is unlocked for a player
      */
     public static boolean isModUnlocked(ServerPlayer player, String modName) {
-        if (DEBUG_MODE) {
-            return true;
-        }
-
-        UUID uuid = player.getUUID();
-        String normalizedName = normalizeModName(modName);
-
-        Set<String> playerMods = unlockedMods.getOrDefault(uuid, new HashSet<>());
-        return playerMods.contains(normalizedName);
+        return isModUnlockedSilent(player, modName);
     }
 
     /**
-     * Unlock a skill for a player
+     * Unlock a skill for a player. Returns false if the player has no
+     * unlock storage attached, in which case nothing was granted.
      */
-    public static void unlockSkill(ServerPlayer player, String skillName) {
+    public static boolean unlockSkill(ServerPlayer player, String skillName) {
         UUID uuid = player.getUUID();
-        String normalizedName = normalizeSkillName(skillName);
+        int id = UnlockRegistry.id(UnlockRegistry.Type.SKILL, skillName);
+        String normalizedName = UnlockRegistry.name(id);
 
-        Set<String> playerSkills = unlockedSkills.computeIfAbsent(uuid, k -> new HashSet<>());
-        playerSkills.add(normalizedName);
+        PlayerUnlocks playerUnlocks = PlayerUnlocksCapability.get(player);
+        if (playerUnlocks == null) {
+            LOGGER.warn("No unlock storage attached to {}, leaving {} pending", player.getName().getString(), normalizedName);
+            return false;
+        }
+        playerUnlocks.add(id);
 
         LOGGER.info("=== UNLOCKING SKILL ===");
         LOGGER.info("Input: '{}' for player UUID={}", skillName, uuid);
         LOGGER.info("Normalized: '{}'", normalizedName);
-        LOGGER.info("All unlocked skills for player: {}", playerSkills);
+        LOGGER.info("All unlocked skills for player: {}", playerUnlocks.names(UnlockRegistry.Type.SKILL));
         LOGGER.info("========================");
 
         net.minecraft.network.chat.MutableComponent skillMessage =
@@ -167,23 +125,30 @@ public class APSkillLockManager {
                         .withStyle(net.minecraft.ChatFormatting.GREEN)
                         .append(new TextComponent("Unlocked skill: " + skillName));
         player.sendMessage(skillMessage, uuid);
+        return true;
     }
 
     /**
-     * Unlock a talent for a player
+     * Unlock a talent for a player. Returns false if the player has no
+     * unlock storage attached, in which case nothing was granted.
      */
-    public static void unlockTalent(ServerPlayer player, String talentName) {
+    public static boolean unlockTalent(ServerPlayer player, String talentName) {
         UUID uuid = player.getUUID();
-        String normalizedName = normalizeTalentName(talentName);
+        int id = UnlockRegistry.id(UnlockRegistry.Type.TALENT, talentName);
+        String normalizedName = UnlockRegistry.name(id);
 
-        Set<String> playerTalents = unlockedTalents.computeIfAbsent(uuid, k -> new HashSet<>());
-        playerTalents.add(normalizedName);
+        PlayerUnlocks playerUnlocks = PlayerUnlocksCapability.get(player);
+        if (playerUnlocks == null) {
+            LOGGER.warn("No unlock storage attached to {}, leaving {} pending", player.getName().getString(), normalizedName);
+            return false;
+        }
+        playerUnlocks.add(id);
 
 
         LOGGER.info("=== UNLOCKING TALENT ===");
         LOGGER.info("Input: '{}' for player UUID={}", talentName, uuid);
         LOGGER.info("Normalized: '{}'", normalizedName);
-        LOGGER.info("All unlocked talents for player: {}", playerTalents);
+        LOGGER.info("All unlocked talents for player: {}", playerUnlocks.names(UnlockRegistry.Type.TALENT));
         LOGGER.info("========================");
 
         net.minecraft.network.chat.MutableComponent talentMessage =
@@ -191,17 +156,24 @@ public class APSkillLockManager {
                         .withStyle(net.minecraft.ChatFormatting.GREEN)
                         .append(new TextComponent("Unlocked talent: " + talentName));
         player.sendMessage(talentMessage, uuid);
+        return true;
     }
 
     /**
-     * Unlock an expertise for a player
+     * Unlock an expertise for a player. Returns false if the player has no
+     * unlock storage attached, in which case nothing was granted.
      */
-    public static void unlockExpertise(ServerPlayer player, String expertiseName) {
+    public static boolean unlockExpertise(ServerPlayer player, String expertiseName) {
         UUID uuid = player.getUUID();
-        String normalizedName = normalizeExpertiseName(expertiseName);
+        int id = UnlockRegistry.id(UnlockRegistry.Type.EXPERTISE, expertiseName);
+        String normalizedName = UnlockRegistry.name(id);
 
-        Set<String> playerExpertises = unlockedExpertises.computeIfAbsent(uuid, k -> new HashSet<>());
-        playerExpertises.add(normalizedName);
+        PlayerUnlocks playerUnlocks = PlayerUnlocksCapability.get(player);
+        if (playerUnlocks == null) {
+            LOGGER.warn("No unlock storage attached to {}, leaving {} pending", player.getName().getString(), normalizedName);
+            return false;
+        }
+        playerUnlocks.add(id);
 
         LOGGER.info("=== UNLOCKING EXPERTISE ===");
         LOGGER.info("Input: '{}'", expertiseName);
@@ -213,17 +185,24 @@ public class APSkillLockManager {
                         .withStyle(net.minecraft.ChatFormatting.GREEN)
                         .append(new TextComponent("Unlocked expertise: " + expertiseName));
         player.sendMessage(expertiseMessage, uuid);
+        return true;
     }
 
     /**
-     * Unlock a mod for a player
+     * Unlock a mod for a player. Returns false if the player has no
+     * unlock storage attached, in which case nothing was granted.
      */
-    public static void unlockMod(ServerPlayer player, String modName) {
+    public static boolean unlockMod(ServerPlayer player, String modName) {
         UUID uuid = player.getUUID();
-        String normalizedName = normalizeModName(modName);
+        int id = UnlockRegistry.id(UnlockRegistry.Type.MOD, modName);
+        String normalizedName = UnlockRegistry.name(id);
 
-        Set<String> playerMods = unlockedMods.computeIfAbsent(uuid, k -> new HashSet<>());
-        playerMods.add(normalizedName);
+        PlayerUnlocks playerUnlocks = PlayerUnlocksCapability.get(player);
+        if (playerUnlocks == null) {
+            LOGGER.warn("No unlock storage attached to {}, leaving {} pending", player.getName().getString(), normalizedName);
+            return false;
+        }
+        playerUnlocks.add(id);
 
         LOGGER.info("Unlocked mod for {}: {}", player.getName().getString(), modName);
         net.minecraft.network.chat.MutableComponent modMessage =
@@ -231,17 +210,7 @@ public class APSkillLockManager {
                         .withStyle(net.minecraft.ChatFormatting.GREEN)
                         .append(new TextComponent("Unlocked mod: " + modName));
         player.sendMessage(modMessage, player.getUUID());
-
-    }
-
-    /**
-     * Clear all unlocks for a player (on logout)
-     */
-    public static void clearPlayer(UUID uuid) {
-        unlockedSkills.remove(uuid);
-        unlockedTalents.remove(uuid);
-        unlockedExpertises.remove(uuid);
-        unlockedMods.remove(uuid);
+        return true;
     }
 
     /**
@@ -252,37 +221,25 @@ public class APSkillLockManager {
         LOGGER.info("AP Debug Mode: " + (enabled ? "ENABLED (all skills unlocked)" : "DISABLED (AP required)"));
     }
 
-    // Normalization methods to match VH's naming format
-    private static String normalizeSkillName(String name) {
-        // VH uses "Mega Jump", we track as "vhskill:mega_jump"
-        return "vhskill:" + name.toLowerCase().replace(" ", "_");
-    }
-
-    private static String normalizeTalentName(String name) {
-        return "vhtalent:" + name.toLowerCase().replace(" ", "_");
-    }
-
-    private static String normalizeExpertiseName(String name) {
-        return "vhexpertise:" + name.toLowerCase().replace(" ", "_");
-    }
-
-    private static String normalizeModName(String name) {
-        return "vhmod:" + name.toLowerCase().replace(" ", "_");
-    }
     public static Set<String> getUnlockedSkills(ServerPlayer player) {
-        return unlockedSkills.getOrDefault(player.getUUID(), new HashSet<>());
+        return getUnlocked(player, UnlockRegistry.Type.SKILL);
     }
 
     public static Set<String> getUnlockedTalents(ServerPlayer player) {
-        return unlockedTalents.getOrDefault(player.getUUID(), new HashSet<>());
+        return getUnlocked(player, UnlockRegistry.Type.TALENT);
     }
 
     public static Set<String> getUnlockedMods(ServerPlayer player) {
-        return unlockedMods.getOrDefault(player.getUUID(), new HashSet<>());
+        return getUnlocked(player, UnlockRegistry.Type.MOD);
     }
 
     public static Set<String> getUnlockedExpertises(ServerPlayer player) {
-        return unlockedExpertises.getOrDefault(player.getUUID(), new HashSet<>());
+        return getUnlocked(player, UnlockRegistry.Type.EXPERTISE);
+    }
+
+    private static Set<String> getUnlocked(ServerPlayer player, UnlockRegistry.Type type) {
+        PlayerUnlocks playerUnlocks = PlayerUnlocksCapability.get(player);
+        return playerUnlocks != null ? playerUnlocks.names(type) : Collections.emptySet();
     }
     // Add these to APSkillLockManager.java
 
@@ -327,12 +284,10 @@ public class APSkillLockManager {
     }
     // Send sync packet to client
     public static void syncToClient(ServerPlayer player) {
-        UUID playerId = player.getUUID();
-
-        Set<String> skills = unlockedSkills.getOrDefault(playerId, new HashSet<>());
-        Set<String> talents = unlockedTalents.getOrDefault(playerId, new HashSet<>());
-        Set<String> mods = unlockedMods.getOrDefault(playerId, new HashSet<>());
-        Set<String> expertises = unlockedExpertises.getOrDefault(playerId, new HashSet<>());
+        Set<String> skills = getUnlockedSkills(player);
+        Set<String> talents = getUnlockedTalents(player);
+        Set<String> mods = getUnlockedMods(player);
+        Set<String> expertises = getUnlockedExpertises(player);
 
         APUnlockSyncMessage message = new APUnlockSyncMessage(skills, talents, mods, expertises);
 
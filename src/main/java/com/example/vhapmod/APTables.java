@@ -0,0 +1,248 @@
+package com.example.vhapmod;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Location and item tables, loaded from the bundled vhapmod/tables.json.
+ *
+ * The file mirrors the apworld's locations.py / items.py and is the single
+ * source of truth for ids. At build time the generateApTables task turns it
+ * into GeneratedTables, which is what startup uses - no parsing. A reload, or
+ * a copy in config/vhapmod_tables.json (which takes precedence), parses the
+ * JSON instead. Either way the result is one immutable Snapshot holding a
+ * LocationIndex plus sorted item id / handler arrays, and swapping the
+ * volatile reference gives readers one complete table set.
+ *
+ * Note that item ids and location ids are separate id spaces: mods are items
+ * 43200+ but locations 43300+.
+ */
+public final class APTables {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final int FORMAT_VERSION = 1;
+    private static final String RESOURCE = "/vhapmod/tables.json";
+    private static final String OVERRIDE_FILE = "config/vhapmod_tables.json";
+
+    /**
+     * One complete, immutable set of tables.
+     */
+    public record Snapshot(int version, String source, LocationIndex locations,
+                           long[] itemIds, APItemTable.Handler[] itemHandlers) {
+
+        /**
+         * Handler for an item id, or null if the id is unknown.
+         */
+        public APItemTable.Handler item(long itemId) {
+            int lo = 0;
+            int hi = itemIds.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long id = itemIds[mid];
+                if (id < itemId) lo = mid + 1;
+                else if (id > itemId) hi = mid - 1;
+                else return itemHandlers[mid];
+            }
+            return null;
+        }
+    }
+
+    private static volatile Snapshot current = loadInitial();
+
+    private APTables() {}
+
+    public static Snapshot current() {
+        return current;
+    }
+
+    /**
+     * Parse the tables again and swap them in. On failure the current tables
+     * stay in place and the exception is passed on.
+     */
+    public static synchronized Snapshot reload() throws IOException {
+        Snapshot loaded = load();
+        current = loaded;
+        VaultHuntersData.getDynamicLocations().checkAgainst(loaded.locations());
+        LOGGER.info("Reloaded AP tables v{} from {}: {} locations, {} items",
+                loaded.version(), loaded.source(), loaded.locations().size(), loaded.itemIds().length);
+        return loaded;
+    }
+
+    // ========== LOADING ==========
+
+    private static Snapshot loadInitial() {
+        if (!new File(OVERRIDE_FILE).exists() && GeneratedTables.VERSION == FORMAT_VERSION) {
+            return fromGenerated();
+        }
+        try {
+            Snapshot snapshot = load();
+            LOGGER.debug("Loaded AP tables v{} from {}", snapshot.version(), snapshot.source());
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            // Nothing to fall back to here; run with empty tables rather than failing class init
+            LOGGER.error("Failed to load AP tables: {}", e.getMessage());
+            return new Snapshot(0, "none", new LocationIndex.Builder().build(),
+                    new long[0], new APItemTable.Handler[0]);
+        }
+    }
+
+    private static Snapshot load() throws IOException {
+        File override = new File(OVERRIDE_FILE);
+        if (override.exists()) {
+            try (Reader reader = Files.newBufferedReader(override.toPath(), StandardCharsets.UTF_8)) {
+                return parse(reader, OVERRIDE_FILE);
+            }
+        }
+
+        InputStream in = APTables.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IOException("Bundled resource " + RESOURCE + " is missing");
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return parse(reader, RESOURCE);
+        }
+    }
+
+    /**
+     * Snapshot over the tables compiled in by the generateApTables task.
+     */
+    private static Snapshot fromGenerated() {
+        LocationIndex locations = LocationIndex.of(GeneratedTables.LOCATION_BASE,
+                GeneratedTables.LOCATION_NAMES, GeneratedTables.LOCATION_KINDS,
+                GeneratedTables.LOCATION_HASH_SEEDS, GeneratedTables.LOCATION_HASH_IDS);
+
+        int count = GeneratedTables.ITEM_IDS.length;
+        APItemTable.Handler[] handlers = new APItemTable.Handler[count];
+        for (int i = 0; i < count; i++) {
+            handlers[i] = handler(GeneratedTables.ITEM_GROUPS[i],
+                    GeneratedTables.ITEM_NAMES[i], GeneratedTables.ITEM_COUNTS[i]);
+        }
+        return new Snapshot(GeneratedTables.VERSION, "generated", locations,
+                GeneratedTables.ITEM_IDS.clone(), handlers);
+    }
+
+    static Snapshot parse(Reader reader, String source) throws IOException {
+        JsonObject root;
+        try {
+            root = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed tables in " + source + ": " + e.getMessage(), e);
+        }
+
+        int version = root.has("version") ? root.get("version").getAsInt() : 0;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported tables version " + version + " in " + source
+                    + " (expected " + FORMAT_VERSION + ")");
+        }
+
+        try {
+            LocationIndex locations = parseLocations(root.getAsJsonObject("locations"));
+            Map<Long, APItemTable.Handler> items = parseItems(root.getAsJsonObject("items"));
+
+            long[] itemIds = new long[items.size()];
+            APItemTable.Handler[] handlers = new APItemTable.Handler[items.size()];
+            int i = 0;
+            for (Map.Entry<Long, APItemTable.Handler> entry : items.entrySet()) {
+                itemIds[i] = entry.getKey();
+                handlers[i] = entry.getValue();
+                i++;
+            }
+            return new Snapshot(version, source, locations, itemIds, handlers);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid tables in " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * "locations": { "<kind>": { "<name>": id, ... }, ... }
+     */
+    private static LocationIndex parseLocations(JsonObject locations) {
+        LocationIndex.Builder builder = new LocationIndex.Builder();
+        for (Map.Entry<String, JsonElement> category : locations.entrySet()) {
+            LocationIndex.Kind kind = LocationIndex.Kind.valueOf(category.getKey().toUpperCase(Locale.ROOT));
+            for (Map.Entry<String, JsonElement> entry : category.getValue().getAsJsonObject().entrySet()) {
+                builder.add(entry.getKey(), entry.getValue().getAsLong(), kind);
+            }
+        }
+        builder.checkAgainstItems(
+                VaultHuntersData.ITEM_SKILL_POINT, VaultHuntersData.ITEM_EXPERTISE_POINT,
+                VaultHuntersData.ITEM_KNOWLEDGE_STAR, VaultHuntersData.ITEM_VAULT_BRONZE,
+                VaultHuntersData.ITEM_VAULT_SILVER, VaultHuntersData.ITEM_VAULT_GOLD,
+                VaultHuntersData.ITEM_XP_NORMAL, VaultHuntersData.ITEM_XP_DOUBLE,
+                VaultHuntersData.ITEM_XP_TRIPLE, VaultHuntersData.ITEM_LOOT_NORMAL,
+                VaultHuntersData.ITEM_LOOT_PLENTY, VaultHuntersData.ITEM_LOOT_EXTREME);
+
+        if (builder.getDuplicateCount() > 0) {
+            LOGGER.warn("Location table has {} clashing id(s), see above", builder.getDuplicateCount());
+        }
+        return builder.build();
+    }
+
+    /**
+     * "items": { "<category>": { "base": id, "names": [...] }, ...,
+     *            "filler": { "base": id, "entries": [ {item, count} | {gear} | null, ... ] } }
+     */
+    private static Map<Long, APItemTable.Handler> parseItems(JsonObject items) {
+        Map<Long, APItemTable.Handler> table = new TreeMap<>();
+
+        for (Map.Entry<String, JsonElement> category : items.entrySet()) {
+            JsonObject group = category.getValue().getAsJsonObject();
+            long base = group.get("base").getAsLong();
+
+            if (group.has("names")) {
+                JsonArray names = group.getAsJsonArray("names");
+                for (int i = 0; i < names.size(); i++) {
+                    put(table, base + i, handler(category.getKey(), names.get(i).getAsString(), 1));
+                }
+            } else {
+                JsonArray entries = group.getAsJsonArray("entries");
+                for (int i = 0; i < entries.size(); i++) {
+                    if (entries.get(i).isJsonNull()) continue; // gap in the apworld's ids
+                    JsonObject entry = entries.get(i).getAsJsonObject();
+                    if (entry.has("gear")) {
+                        put(table, base + i, handler("gear", entry.get("gear").getAsString(), 1));
+                    } else {
+                        put(table, base + i, handler("filler",
+                                entry.get("item").getAsString(), entry.get("count").getAsInt()));
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Handler for one item entry. Group is an unlock category, "filler" or "gear".
+     */
+    private static APItemTable.Handler handler(String group, String name, int count) {
+        return switch (group) {
+            case "filler" -> new APItemTable.Filler(name, count);
+            case "gear" -> new APItemTable.VaultGear(name);
+            default -> new APItemTable.Unlock(
+                    ItemDeliveryQueue.Category.valueOf(group.toUpperCase(Locale.ROOT)), name);
+        };
+    }
+
+    private static void put(Map<Long, APItemTable.Handler> table, long itemId, APItemTable.Handler handler) {
+        if (table.put(itemId, handler) != null) {
+            throw new IllegalStateException("Duplicate AP item id " + itemId);
+        }
+    }
+}
@@ -3,20 +3,30 @@ package com.example.vhapmod;
 import com.google.gson.*;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.TextComponent;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.item.Item;
-import net.minecraftforge.registries.ForgeRegistries;
-import net.minecraftforge.registries.IForgeRegistry;
+import net.minecraft.world.level.storage.LevelResource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.WebSocket;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Clean WebSocket client for Archipelago
@@ -28,61 +38,209 @@ public class APWebSocketClient implements WebSocket.Listener {
     private final Gson gson = new Gson();
     private final Random random = new Random();
 
-    private WebSocket webSocket;
+    private volatile WebSocket webSocket;
     private VaultHuntersManager vhManager;
     private net.minecraft.server.MinecraftServer server;
 
     // Connection state
     private String slotName;
     private String password;
+    private String host;
+    private int port;
+    // Sent with every Connect so the server sees reconnects as the same client
+    private final String clientUuid = UUID.randomUUID().toString();
     private String game = "Vault Hunters";
     private int team = 0;
-    private int slot = 0;
-    private boolean connected = false;
-
-    // Game state
-    private Set<Long> checkedLocations = new HashSet<>();
-    private Set<String> processedItems = new HashSet<>();
+    private volatile int slot = 0;
+    private volatile boolean connected = false;
+
+    // Reconnect supervisor: active from /apconnect until disconnect() or a refusal,
+    // and only after the first successful Connected (so a typo'd host isn't retried forever)
+    private volatile boolean autoReconnect = false;
+    private volatile boolean sessionEstablished = false;
+    private final AtomicBoolean reconnectPending = new AtomicBoolean(false);
+    private final AtomicInteger reconnectAttempts = new AtomicInteger(0);
+    private final long reconnectBaseDelayMs;
+    private final long reconnectMaxDelayMs;
+    private String seedName = "";
+    private Map<Integer, String> playerAliases = Map.of();
+    private Map<Integer, String> slotGames = Map.of();
+
+    // Game state (server thread only)
+    private ReceivedItemStore receivedItemStore;
+    private ReceivedItemTracker receivedItems;
     private int goalLevel = 100;
 
+    // All socket work (HttpClient callbacks, sends, check batching) runs on this one thread.
+    // Its work queue is unbounded, so every producer must cap what it has queued:
+    // - HttpClient callbacks: reads are pulled with request(1), and paused while eventQueue is full
+    // - send(): frames are chained, so at most one send task is queued at a time
+    // - the post-backlog flush: queued once per backlog (sendBacklogged)
+    // - LocationCheckBatcher: at most one timed and one immediate flush
+    // - queueSave(): at most one task per save target
+    // - scheduleReconnect(): at most one (reconnectPending)
+    // - DataPackageCache: one load per game (loading), one write per received package
+    // - handleConnected() replay and closeJournal(): once per connection / stop
+    // Anything new that posts here needs a cap like these.
+    private final ScheduledThreadPoolExecutor ioExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "VHAP-IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LocationCheckBatcher checkBatcher;
+
+    // Saves waiting for the I/O thread, at most one per target. A newer save
+    // replaces the waiting one, so a stalled disk can't pile writes up.
+    private final Map<String, Runnable> queuedSaves = new ConcurrentHashMap<>();
+
+    // Decoded packets waiting for the server thread. When it fills up we stop
+    // requesting websocket messages until tick() has drained it.
+    private final APEventQueue eventQueue;
+    private final AtomicBoolean readPaused = new AtomicBoolean(false);
+
+    // PrintJSON item messages between other slots, dropped without decoding
+    private final AtomicLong skippedPrints = new AtomicLong();
+
+    // Received items waiting to be applied under the per-tick budget
+    private final ItemDeliveryQueue itemDelivery;
+
+    // Outbound checks survive crashes and restarts here until the server acknowledges them
+    private volatile CheckJournal checkJournal;
+    private static final int JOURNAL_CLOSE_TIMEOUT_SECONDS = 5;
+    private int ticksSinceCompaction = 0;
+
+    // Item/location names for every game in the room, cached on disk by checksum
+    private final DataPackageCache dataPackages = new DataPackageCache(ioExecutor);
+
+    // WebSocket.sendText must not be called again before the previous send completes
+    private final Object sendLock = new Object();
+    private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+
+    // Frames queued behind sendChain. Past the limit the batcher keeps checks
+    // to itself (still coalescing) until the socket catches up.
+    private static final int MAX_FRAMES_IN_FLIGHT = 64;
+    private final AtomicInteger framesInFlight = new AtomicInteger();
+    private final AtomicBoolean sendBacklogged = new AtomicBoolean(false);
+
     public APWebSocketClient(VaultHuntersManager manager) {
         this.vhManager = manager;
+        this.ioExecutor.setRemoveOnCancelPolicy(true);
+
+        APConnectionConfig config = APConnectionConfig.load();
+        this.checkBatcher = new LocationCheckBatcher(ioExecutor, this::sendFrame,
+                config.checkBatchWindowMs, config.checkBatchMaxSize);
+        this.eventQueue = new APEventQueue(config.inboundQueueCapacity);
+        this.itemDelivery = new ItemDeliveryQueue(this::processReceivedItem, APWebSocketClient::getRecipient,
+                config.itemDeliveryBudgetMs);
+        this.reconnectBaseDelayMs = Math.max(100, config.reconnectBaseDelayMs);
+        this.reconnectMaxDelayMs = Math.max(reconnectBaseDelayMs, config.reconnectMaxDelayMs);
     }
 
     public void setServer(net.minecraft.server.MinecraftServer server) {
         this.server = server;
+        this.receivedItemStore = ReceivedItemStore.get(server);
+        openJournal(server.getWorldPath(LevelResource.ROOT).resolve("vhapmod"));
+    }
+
+    private void openJournal(Path directory) {
+        try {
+            checkJournal = CheckJournal.open(directory);
+            // Anything left over from the last run goes out with the first flush after Connected
+            checkBatcher.resend(checkJournal.getPending());
+        } catch (IOException e) {
+            LOGGER.error("Failed to open check journal, checks will not survive a restart: {}", e.getMessage());
+            checkJournal = null;
+        }
+    }
+
+    /**
+     * Flush and close the check journal. Called when the server stops.
+     * The close runs behind any journal work already queued on the I/O thread,
+     * and this waits for it (bounded), since that thread is a daemon and
+     * would not hold up JVM exit. If it doesn't finish in time the journal is
+     * closed here instead.
+     */
+    public void closeJournal() {
+        CheckJournal journal = checkJournal;
+        if (journal == null) return;
+        checkJournal = null;
+
+        try {
+            Future<?> closed = ioExecutor.submit(journal::close);
+            closed.get(JOURNAL_CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return;
+        } catch (RejectedExecutionException | ExecutionException e) {
+            LOGGER.warn("Closing check journal on the I/O thread failed: {}", e.getMessage());
+        } catch (TimeoutException e) {
+            LOGGER.warn("I/O thread did not close the check journal within {}s", JOURNAL_CLOSE_TIMEOUT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
     }
 
     // ========== CONNECTION ==========
 
     public CompletableFuture<Void> connect(String host, int port, String slotName, String password) {
+        this.host = host;
+        this.port = port;
         this.slotName = slotName;
         this.password = password;
+        this.autoReconnect = true;
+        this.sessionEstablished = false;
+        this.reconnectAttempts.set(0);
 
+        return openSocket();
+    }
+
+    private CompletableFuture<Void> openSocket() {
         String uri = String.format("ws://%s:%d", host, port);
         LOGGER.info("Connecting to AP server: {}", uri);
 
-        HttpClient client = HttpClient.newHttpClient();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(ioExecutor)
+                .build();
 
         return client.newWebSocketBuilder()
                 .buildAsync(URI.create(uri), this)
-                .thenAccept(ws -> {
+                .thenAcceptAsync(ws -> {
                     this.webSocket = ws;
                     LOGGER.info("WebSocket connected, sending Connect packet");
                     sendConnect();
-                })
+                }, ioExecutor)
                 .exceptionally(ex -> {
                     LOGGER.error("Failed to connect: {}", ex.getMessage());
+                    scheduleReconnect();
                     return null;
                 });
     }
 
+    /**
+     * Try again after a jittered exponential backoff (half the delay fixed, half random).
+     */
+    private void scheduleReconnect() {
+        if (!autoReconnect || !sessionEstablished) return;
+        if (!reconnectPending.compareAndSet(false, true)) return;
+
+        int attempt = reconnectAttempts.getAndIncrement();
+        long delay = Math.min(reconnectMaxDelayMs, reconnectBaseDelayMs << Math.min(attempt, 16));
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+
+        LOGGER.info("Reconnecting to AP in {} ms (attempt {})", jittered, attempt + 1);
+        ioExecutor.schedule(() -> {
+            reconnectPending.set(false);
+            if (autoReconnect && !isConnected()) {
+                openSocket();
+            }
+        }, jittered, TimeUnit.MILLISECONDS);
+    }
+
     private void sendConnect() {
         JsonObject connectPacket = new JsonObject();
         connectPacket.addProperty("cmd", "Connect");
         connectPacket.addProperty("game", game);
         connectPacket.addProperty("name", slotName);
-        connectPacket.addProperty("uuid", UUID.randomUUID().toString());
+        connectPacket.addProperty("uuid", clientUuid);
         connectPacket.add("version", getAPVersion());
         connectPacket.addProperty("items_handling", 7); // 0b111 = remote items
         connectPacket.addProperty("slot_data", true); // Request slot_data
@@ -92,7 +250,7 @@ public class APWebSocketClient implements WebSocket.Listener {
         JsonArray wrapper = new JsonArray();
         wrapper.add(connectPacket);
 
-        webSocket.sendText(gson.toJson(wrapper), true);
+        send(gson.toJson(wrapper));
         LOGGER.info("Sent Connect packet");
     }
 
@@ -110,12 +268,71 @@ public class APWebSocketClient implements WebSocket.Listener {
     }
 
     public void disconnect() {
-        if (webSocket != null) {
-            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "Client disconnecting");
+        autoReconnect = false;
+        WebSocket ws = webSocket;
+        if (ws != null) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "Client disconnecting");
             connected = false;
         }
     }
 
+    /**
+     * Hand everything the I/O thread has decoded to the game, then deliver
+     * as many received items as the tick budget allows. Called once per server tick.
+     */
+    public void tick() {
+        APEvent event;
+        while ((event = eventQueue.poll()) != null) {
+            try {
+                handleEvent(event);
+            } catch (Exception e) {
+                LOGGER.error("Error processing AP event {}: {}", event, e.getMessage());
+            }
+        }
+
+        // Resume reading if onText stopped because the queue was full
+        WebSocket ws = webSocket;
+        if (ws != null && eventQueue.hasRoom() && readPaused.compareAndSet(true, false)) {
+            ws.request(1);
+        }
+
+        itemDelivery.tick(server);
+
+        // Every 5 minutes, drop acknowledged records from the journal
+        CheckJournal journal = checkJournal;
+        if (journal != null && ++ticksSinceCompaction >= 6000) {
+            ticksSinceCompaction = 0;
+            queueSave("check_journal", journal::compactIfNeeded);
+        }
+    }
+
+    /**
+     * Run a save on the I/O thread. If a save for the same target is still
+     * waiting there, it is replaced rather than queued a second time.
+     */
+    public void queueSave(String target, Runnable save) {
+        if (queuedSaves.put(target, save) == null) {
+            ioExecutor.execute(() -> {
+                Runnable latest = queuedSaves.remove(target);
+                if (latest != null) {
+                    latest.run();
+                }
+            });
+        }
+    }
+
+    public int getPendingEventCount() {
+        return eventQueue.size();
+    }
+
+    public ItemDeliveryQueue getItemDelivery() {
+        return itemDelivery;
+    }
+
+    public long getSkippedPrintCount() {
+        return skippedPrints.get();
+    }
+
     // ========== WEBSOCKET LISTENER ==========
 
     @Override
@@ -124,138 +341,213 @@ public class APWebSocketClient implements WebSocket.Listener {
         WebSocket.Listener.super.onOpen(webSocket);
     }
 
-    private StringBuilder messageBuffer = new StringBuilder();
+    // Fragments of the message currently being received
+    private final List<CharSequence> messageFragments = new ArrayList<>();
 
     @Override
     public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-        // Accumulate the message
-        messageBuffer.append(data);
-
-        // Only process when we have the complete message
-        if (last) {
-            String completeMessage = messageBuffer.toString();
-            messageBuffer.setLength(0); // Clear buffer for next message
+        if (!last) {
+            // Copy the fragment - the websocket may reuse its buffer for the next one
+            messageFragments.add(data.toString());
+            webSocket.request(1);
+            return null;
+        }
 
-            try {
-                // Parse the complete JSON
-                JsonElement element = JsonParser.parseString(completeMessage);
-
-                if (element.isJsonArray()) {
-                    JsonArray packets = element.getAsJsonArray();
-                    for (int i = 0; i < packets.size(); i++) {
-                        try {
-                            JsonObject packet = packets.get(i).getAsJsonObject();
-                            handlePacket(packet);
-                        } catch (Exception e) {
-                            LOGGER.error("Error processing packet {}: {}", i, e.getMessage());
-                        }
-                    }
-                } else if (element.isJsonObject()) {
-                    handlePacket(element.getAsJsonObject());
-                } else {
-                    LOGGER.warn("Unexpected JSON type: {}", element.getClass().getSimpleName());
+        List<CharSequence> fragments;
+        if (messageFragments.isEmpty()) {
+            // Common case: whole message in one fragment. Drop other slots' item
+            // messages before decoding, otherwise decode it in place
+            if (connected) {
+                int skipped = PrintJSONFilter.skippablePackets(data, slot);
+                if (skipped > 0) {
+                    skippedPrints.addAndGet(skipped);
+                    webSocket.request(1);
+                    return null;
                 }
-            } catch (Exception e) {
-                LOGGER.error("Error parsing complete message: {}", e.getMessage());
-                LOGGER.debug("Message was: {}", completeMessage.substring(0, Math.min(500, completeMessage.length())));
             }
+            fragments = List.of(data);
+        } else {
+            messageFragments.add(data);
+            fragments = messageFragments;
+        }
+
+        try {
+            // Decode here on the I/O thread, handle on the server thread
+            APPacketDecoder.decode(APPacketDecoder.fragmentReader(fragments), eventQueue::offer);
+        } catch (Exception e) {
+            LOGGER.error("Error parsing complete message: {}", e.getMessage());
+            CharSequence head = fragments.get(0);
+            LOGGER.debug("Message was: {}", head.subSequence(0, Math.min(500, head.length())));
+        } finally {
+            messageFragments.clear();
         }
 
-        webSocket.request(1);
+        if (eventQueue.isFull()) {
+            readPaused.set(true);
+            LOGGER.debug("AP event queue full ({}), pausing reads", eventQueue.size());
+        } else {
+            webSocket.request(1);
+        }
         return null;
     }
 
     @Override
     public void onError(WebSocket webSocket, Throwable error) {
         LOGGER.error("WebSocket error: {}", error.getMessage());
+        // A late callback from a socket we already replaced must not touch the new one
+        if (webSocket != this.webSocket) return;
         connected = false;
+        eventQueue.offer(new APEvent.SocketClosed(String.valueOf(error.getMessage())));
+        scheduleReconnect();
     }
 
     @Override
     public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
         LOGGER.info("WebSocket closed: {} - {}", statusCode, reason);
-        connected = false;
+        if (webSocket == this.webSocket) {
+            connected = false;
+            eventQueue.offer(new APEvent.SocketClosed(statusCode + " - " + reason));
+            scheduleReconnect();
+        }
         return WebSocket.Listener.super.onClose(webSocket, statusCode, reason);
     }
 
     // ========== PACKET HANDLING ==========
 
-    private void handlePacket(JsonObject packet) {
-        if (!packet.has("cmd")) return;
-
-        String cmd = packet.get("cmd").getAsString();
-
-        switch (cmd) {
-            case "RoomInfo":
-                handleRoomInfo(packet);
-                break;
-            case "Connected":
-                handleConnected(packet);
-                break;
-            case "ReceivedItems":
-                handleReceivedItems(packet);
-                break;
-            case "LocationInfo":
-                handleLocationInfo(packet);
-                break;
-            case "Print":
-                handlePrint(packet);
-                break;
-            case "PrintJSON":
-                handlePrintJSON(packet);
-                break;
-            case "ConnectionRefused":
-                handleConnectionRefused(packet);
-                break;
-            case "Retrieved":
-            case "SetReply":
-            case "Bounced":
-                // These are responses to Get/Set commands - ignore for now
-                LOGGER.debug("Received {}", cmd);
-                break;
-            default:
-                LOGGER.debug("Unhandled packet: {}", cmd);
-        }
-    }
-
-    private void handleRoomInfo(JsonObject packet) {
-        LOGGER.info("Received RoomInfo");
+    private void handleEvent(APEvent event) {
+        if (event instanceof APPacket packet) {
+            handlePacket(packet);
+        } else if (event instanceof APEvent.SocketClosed closed) {
+            // connected was already cleared on the I/O thread
+            LOGGER.debug("Socket closed event handled: {}", closed.reason());
+            if (autoReconnect && sessionEstablished) {
+                handlePrint("Connection lost, reconnecting...");
+            }
+        }
     }
 
-    private void handleConnected(JsonObject packet) {
-        connected = true;
+    private void handlePacket(APPacket packet) {
+        if (packet instanceof APPacket.RoomInfo roomInfo) {
+            handleRoomInfo(roomInfo);
+        } else if (packet instanceof APPacket.Connected connectedPacket) {
+            handleConnected(connectedPacket);
+        } else if (packet instanceof APPacket.ReceivedItems receivedItems) {
+            handleReceivedItems(receivedItems);
+        } else if (packet instanceof APPacket.Print print) {
+            handlePrint(print.text());
+        } else if (packet instanceof APPacket.PrintJSON printJSON) {
+            handlePrintJSON(printJSON);
+        } else if (packet instanceof APPacket.RoomUpdate roomUpdate) {
+            acknowledgeChecks(roomUpdate.checkedLocations());
+            vhManager.applyServerCheckedLocations(roomUpdate.checkedLocations());
+        } else if (packet instanceof APPacket.DataPackage dataPackage) {
+            handleDataPackage(dataPackage);
+        } else if (packet instanceof APPacket.ConnectionRefused refused) {
+            handleConnectionRefused(refused);
+        } else {
+            switch (packet.cmd()) {
+                case "LocationInfo":
+                    // Handle location scout info if needed
+                    break;
+                case "Retrieved":
+                case "SetReply":
+                case "Bounced":
+                    // These are responses to Get/Set commands - ignore for now
+                    LOGGER.debug("Received {}", packet.cmd());
+                    break;
+                default:
+                    LOGGER.debug("Unhandled packet: {}", packet.cmd());
+            }
+        }
+    }
 
-        if (packet.has("slot")) {
-            slot = packet.get("slot").getAsInt();
+    private void handleRoomInfo(APPacket.RoomInfo packet) {
+        LOGGER.info("Received RoomInfo");
+        seedName = packet.seedName() != null ? packet.seedName() : "";
+
+        // Only download packages we don't already have on disk
+        List<String> missing = dataPackages.setChecksums(packet.checksums());
+        if (!missing.isEmpty()) {
+            requestDataPackage(missing);
         }
+    }
 
-        if (packet.has("team")) {
-            team = packet.get("team").getAsInt();
+    private void handleDataPackage(APPacket.DataPackage packet) {
+        for (APGameData data : packet.games()) {
+            LOGGER.info("Received DataPackage for {} ({} items, {} locations, {} KB; ~{} KB as a HashMap)",
+                    data.game(), data.itemNames().size(), data.locationNames().size(),
+                    data.footprintBytes() / 1024, data.naiveMapBytes() / 1024);
+            dataPackages.store(data);
         }
+    }
+
+    private void handleConnected(APPacket.Connected packet) {
+        connected = true;
+        slot = packet.slot();
+        team = packet.team();
+        playerAliases = packet.playerAliases();
+        slotGames = packet.slotGames();
 
         LOGGER.info("✓ Connected to AP as slot {} on team {}", slot, team);
 
-        // Read YAML settings from slot_data
-        if (packet.has("slot_data")) {
-            JsonObject slotData = packet.getAsJsonObject("slot_data");
+        // Resumed session: ask for a fresh item list, already delivered indices are skipped
+        if (sessionEstablished) {
+            send("[{\"cmd\":\"Sync\"}]");
+        }
+        sessionEstablished = true;
+        reconnectAttempts.set(0);
+
+        // Pick up where this slot left off. Reconnecting to the same slot keeps the
+        // same tracker, including the positions still waiting in the delivery queue
+        ReceivedItemTracker previous = receivedItems;
+        receivedItems = receivedItemStore != null ? receivedItemStore.get(seedName, team, slot) : null;
+        if (previous != null && previous != receivedItems) {
+            // Queued positions index the old slot's list; that slot resends them if we go back
+            LOGGER.info("Switched AP slot, dropping {} undelivered item(s) from {}", itemDelivery.getDepth(), previous.getKey());
+            itemDelivery.clear();
+            previous.dropPending();
+        }
 
-            if (slotData.has("vault_chest_checks")) {
-                int chestChecks = slotData.get("vault_chest_checks").getAsInt();
-                vhManager.setTotalChestChecks(chestChecks);
-                LOGGER.info("✓ Chest checks: {}", chestChecks);
+        // Anything queued while the socket was down, plus journaled checks the
+        // server never confirmed, goes out now as one batch. Done on the I/O
+        // thread, since binding and sending both write the journal to disk.
+        // A journal from another room has its checks dropped, not sent here
+        vhManager.applyServerCheckedLocations(packet.checkedLocations());
+        CheckJournal journal = checkJournal;
+        String room = seedName + ":" + team + ":" + slot;
+        long[] checkedLocations = packet.checkedLocations();
+        ioExecutor.execute(() -> {
+            if (journal != null) {
+                if (journal.bindRoom(room)) {
+                    checkBatcher.reset();
+                }
+                if (checkedLocations.length > 0) {
+                    journal.acknowledge(checkedLocations);
+                }
+                checkBatcher.resend(journal.getPending());
             }
+            checkBatcher.flush();
+        });
 
-            if (slotData.has("wooden_chest_weight")) {
-                float weight = slotData.get("wooden_chest_weight").getAsFloat();
-                vhManager.setWoodenChestWeight(weight);
-                LOGGER.info("✓ Wooden chest weight: {}%", (int)(weight * 100));
-            }
+        // Read YAML settings from slot_data
+        APPacket.SlotData slotData = packet.slotData();
 
-            if (slotData.has("normal_chest_weight")) {
-                float weight = slotData.get("normal_chest_weight").getAsFloat();
-                vhManager.setNormalChestWeight(weight);
-                LOGGER.info("✓ Normal chest weight: {}%", (int)(weight * 100));
-            }
+        if (slotData.vaultChestChecks() != null) {
+            int chestChecks = slotData.vaultChestChecks();
+            vhManager.setTotalChestChecks(chestChecks);
+            LOGGER.info("✓ Chest checks: {}", chestChecks);
+        }
+
+        if (slotData.woodenChestWeight() != null) {
+            float weight = slotData.woodenChestWeight();
+            vhManager.setWoodenChestWeight(weight);
+            LOGGER.info("✓ Wooden chest weight: {}%", (int)(weight * 100));
+        }
+
+        if (slotData.normalChestWeight() != null) {
+            float weight = slotData.normalChestWeight();
+            vhManager.setNormalChestWeight(weight);
+            LOGGER.info("✓ Normal chest weight: {}%", (int)(weight * 100));
         }
 
         // Send sync message to all players
@@ -264,134 +556,212 @@ public class APWebSocketClient implements WebSocket.Listener {
         }
     }
 
-    private void handleReceivedItems(JsonObject packet) {
-        if (!packet.has("items")) return;
+    private void handleReceivedItems(APPacket.ReceivedItems packet) {
+        LOGGER.info("=== Receiving {} items ===", packet.size());
 
-        JsonArray items = packet.getAsJsonArray("items");
-        LOGGER.info("=== Receiving {} items ===", items.size());
+        ReceivedItemTracker tracker = receivedItems;
+        if (tracker == null) {
+            LOGGER.warn("No receive cursor for this slot, ignoring ReceivedItems");
+            return;
+        }
 
-        for (int i = 0; i < items.size(); i++) {
-            JsonObject itemData = items.get(i).getAsJsonObject();
+        if (tracker.isGap(packet.index())) {
+            // Missed a packet - ask for the full list, already delivered entries are skipped
+            LOGGER.warn("ReceivedItems index {} skips ahead, requesting Sync", packet.index());
+            send("[{\"cmd\":\"Sync\"}]");
+        }
 
-            long itemId = itemData.get("item").getAsLong();
-            long locationId = itemData.get("location").getAsLong();
+        for (int i = 0; i < packet.size(); i++) {
+            long itemId = packet.items()[i];
+            long locationId = packet.locations()[i];
 
             // Prevent duplicate processing
-            String uniqueKey = itemId + ":" + locationId;
-            if (processedItems.contains(uniqueKey)) {
+            int index = packet.index() + i;
+            if (!tracker.accept(index)) {
                 continue;
             }
-            processedItems.add(uniqueKey);
 
             // Mark location as found
             //APAwareLootModifier.markCheckFound(locationId);
 
-            // Process item
-            processReceivedItem(itemId, locationId);
+            // Applied over the next ticks by itemDelivery, to whoever is online then
+            itemDelivery.enqueue(index, itemId, locationId);
+        }
+
+        if (itemDelivery.getDepth() > 0) {
+            LOGGER.debug("{} item(s) queued for delivery", itemDelivery.getDepth());
         }
     }
 
-    private void processReceivedItem(long itemId, long locationId) {
-        // CRITICAL: Must run on server thread to send packets and interact with player
-        if (server != null) {
-            server.execute(() -> {
-                ServerPlayer player = getCurrentPlayer();
-                if (player == null) {
-                    LOGGER.warn("No player available to receive item");
-                    return;
-                }
+    private void processReceivedItem(ServerPlayer player, ItemDeliveryQueue.Category category,
+                                     int index, long itemId, long locationId) {
+        // Called from itemDelivery on the server thread
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Processing {} from location {}", getItemName(itemId, slot), locationId);
+        }
 
-                LOGGER.info("Processing item {} from location {}", itemId, locationId);
+        ReceivedItemTracker tracker = receivedItems;
+        APItemTable.Handler handler = APItemTable.get(itemId);
+        if (handler == null) {
+            LOGGER.warn("Unknown AP item id: {}", itemId);
+            if (tracker != null) tracker.complete(index);
+            return;
+        }
 
-                // Skills (43000-43026)
-                if (itemId >= 43000 && itemId < 43100) {
-                    String skillName = getSkillName(itemId);
-                    vhManager.unlockSkill(player, skillName);
-                }
-                // Talents (43100-43199)
-                else if (itemId >= 43100 && itemId < 43200) {
-                    String talentName = getTalentName(itemId);
-                    vhManager.unlockTalent(player, talentName);
-                }
-                // Mods (43200-43299)
-                else if (itemId >= 43200 && itemId < 43300) {
-                    String modName = getModName(itemId);
-                    vhManager.unlockMod(player, modName);
-                }
-                // Expertises (43300-43399)
-                else if (itemId >= 43300 && itemId < 43400) {
-                    String expertiseName = getExpertiseName(itemId);
-                    vhManager.unlockExpertise(player, expertiseName);
-                }
-                // Filler items (33700-33799)
-                else if (itemId >= 33700 && itemId < 33800) {
-                    giveFillerItem(player, itemId);
+        // Only recorded as delivered once the grant went through; a throw or a
+        // refused grant leaves the position to be handed out on the next Sync
+        boolean delivered = false;
+        try {
+            delivered = handler.deliver(player, vhManager);
+        } finally {
+            if (tracker != null) {
+                if (delivered) {
+                    tracker.complete(index);
+                } else {
+                    tracker.release(index);
                 }
-            });
+            }
         }
     }
 
-    private void handleLocationInfo(JsonObject packet) {
-        // Handle location scout info if needed
+    private void handlePrint(String message) {
+        LOGGER.info("[AP] {}", message);
+
+        if (server == null) return;
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            player.sendMessage(
+                    new TextComponent("[AP] " + message).withStyle(ChatFormatting.AQUA),
+                    player.getUUID()
+            );
+        }
     }
 
-    private void handlePrint(JsonObject packet) {
-        if (packet.has("text")) {
-            String message = packet.get("text").getAsString();
-            LOGGER.info("[AP] {}", message);
+    private void handlePrintJSON(APPacket.PrintJSON packet) {
+        // Same rule as the raw-frame filter, for prints that arrived in a mixed frame
+        if (PrintJSONFilter.isIrrelevant(packet.type(), packet.receiving(), packet.itemPlayer(), slot)) {
+            skippedPrints.incrementAndGet();
+            return;
+        }
 
-            ServerPlayer player = getCurrentPlayer();
-            if (player != null) {
-                player.sendMessage(
-                        new TextComponent("[AP] " + message).withStyle(ChatFormatting.AQUA),
-                        player.getUUID()
-                );
-            }
+        // Handle rich text messages - flattened to plain text, ids replaced with names
+        StringBuilder text = new StringBuilder();
+        for (APPacket.TextPart part : packet.parts()) {
+            if (part.text() == null) continue;
+            text.append(resolvePart(part));
         }
+        handlePrint(text.toString());
     }
 
-    private void handlePrintJSON(JsonObject packet) {
-        // Handle rich text messages
-        handlePrint(packet);
-    }
+    private String resolvePart(APPacket.TextPart part) {
+        if (part.type() == null) return part.text();
 
-    private void handleConnectionRefused(JsonObject packet) {
-        String reason = "Unknown";
-        if (packet.has("errors")) {
-            JsonArray errors = packet.getAsJsonArray("errors");
-            if (errors.size() > 0) {
-                reason = errors.get(0).getAsString();
-            }
+        try {
+            return switch (part.type()) {
+                case "player_id" -> getPlayerName(Integer.parseInt(part.text()));
+                case "item_id" -> getItemName(Long.parseLong(part.text()), part.player());
+                case "location_id" -> getLocationName(Long.parseLong(part.text()), part.player());
+                default -> part.text();
+            };
+        } catch (NumberFormatException e) {
+            return part.text();
         }
+    }
+
+    private void handleConnectionRefused(APPacket.ConnectionRefused packet) {
+        String reason = packet.errors().isEmpty() ? "Unknown" : packet.errors().get(0);
 
         LOGGER.error("Connection refused: {}", reason);
         connected = false;
+        // Bad slot/password won't fix itself - stop retrying
+        autoReconnect = false;
     }
 
     // ========== SENDING PACKETS ==========
 
+    /**
+     * Queue a location check. Checks are deduplicated and sent in batches.
+     */
     public void sendLocationCheck(long locationId) {
-        if (!isConnected()) {
-            LOGGER.warn("Cannot send location check - not connected");
-            return;
+        if (checkBatcher.isSubmitted(locationId)) return;
+
+        // Journal first, so the check isn't lost if we crash before the server has it
+        CheckJournal journal = checkJournal;
+        if (journal != null) {
+            journal.record(locationId);
         }
 
-        checkedLocations.add(locationId);
-        //APAwareLootModifier.markCheckFound(locationId);
+        // While offline checks stay queued in the batcher and go out in one frame on Connected
+        if (checkBatcher.submit(locationId) && !isConnected()) {
+            LOGGER.info("Not connected - location check {} queued until reconnect", locationId);
+        }
+    }
 
-        JsonObject packet = new JsonObject();
-        packet.addProperty("cmd", "LocationChecks");
+    private void acknowledgeChecks(long[] checkedLocations) {
+        CheckJournal journal = checkJournal;
+        if (journal != null && checkedLocations.length > 0) {
+            journal.acknowledge(checkedLocations);
+        }
+    }
 
-        JsonArray locations = new JsonArray();
-        locations.add((int)locationId);  // Cast to int - AP expects integers!
-        packet.add("locations", locations);
+    private void requestDataPackage(List<String> games) {
+        JsonObject packet = new JsonObject();
+        packet.addProperty("cmd", "GetDataPackage");
+        JsonArray gameList = new JsonArray();
+        for (String game : games) {
+            gameList.add(game);
+        }
+        packet.add("games", gameList);
 
         JsonArray wrapper = new JsonArray();
         wrapper.add(packet);
 
-        LOGGER.info("Sending LocationChecks packet: {}", gson.toJson(wrapper));
-        webSocket.sendText(gson.toJson(wrapper), true);
-        LOGGER.info("✓ Sent location check: {}", locationId);
+        send(gson.toJson(wrapper));
+        LOGGER.info("Requested DataPackage for {} game(s): {}", games.size(), games);
+    }
+
+    private boolean sendFrame(String frame) {
+        if (!isConnected()) return false;
+
+        // Socket is stalled - keep the checks batched until it drains
+        if (framesInFlight.get() >= MAX_FRAMES_IN_FLIGHT) {
+            if (sendBacklogged.compareAndSet(false, true)) {
+                LOGGER.warn("{} AP frames still waiting on the socket, holding location checks back", framesInFlight.get());
+            }
+            return false;
+        }
+
+        // Make sure the journaled checks are on disk before they go out
+        CheckJournal journal = checkJournal;
+        if (journal != null) {
+            journal.sync();
+        }
+        send(frame);
+        return true;
+    }
+
+    /**
+     * Queue a text frame behind any send still in flight.
+     */
+    private void send(String frame) {
+        WebSocket ws = webSocket;
+        if (ws == null) return;
+
+        framesInFlight.incrementAndGet();
+        synchronized (sendLock) {
+            sendChain = sendChain
+                    .exceptionally(ex -> null)
+                    .thenComposeAsync(ignored -> ws.sendText(frame, true), ioExecutor)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            LOGGER.warn("Failed to send AP packet: {}", ex.getMessage());
+                        }
+                        // Send whatever the batcher held back while the socket was stalled
+                        if (framesInFlight.decrementAndGet() < MAX_FRAMES_IN_FLIGHT / 2
+                                && sendBacklogged.compareAndSet(true, false)) {
+                            ioExecutor.execute(checkBatcher::flush);
+                        }
+                    });
+        }
     }
 
     public void checkGoalReached(ServerPlayer player) {
@@ -413,7 +783,7 @@ public class APWebSocketClient implements WebSocket.Listener {
         JsonArray wrapper = new JsonArray();
         wrapper.add(packet);
 
-        webSocket.sendText(gson.toJson(wrapper), true);
+        send(gson.toJson(wrapper));
 
         // Celebrate!
         player.sendMessage(
@@ -425,357 +795,36 @@ public class APWebSocketClient implements WebSocket.Listener {
         LOGGER.info("✓ Sent goal completion!");
     }
 
-    // ========== ITEM MAPPING ==========
-
-    private String getSkillName(long itemId) {
-        // Map item IDs to skill names (43000-43026)
-        String[] skills = {
-                "vhskill:nova", "vhskill:fireball", "vhskill:javelin", "vhskill:stonefall",
-                "vhskill:ice_bolt", "vhskill:implode", "vhskill:shield_bash", "vhskill:arcane",
-                "vhskill:earthquake", "vhskill:lightning_strike", "vhskill:dash", "vhskill:vein_miner",
-                "vhskill:ghost_walk", "vhskill:rampage", "vhskill:mega_jump", "vhskill:shell",
-                "vhskill:taunt", "vhskill:heal", "vhskill:angel", "vhskill:empower",
-                "vhskill:hunter", "vhskill:smite", "vhskill:storm_arrow", "vhskill:battle_cry",
-                "vhskill:rejuvenation_totem", "vhskill:mana_shield", "vhskill:chaos_cube"
-        };
-
-        int index = (int)(itemId - 43000);
-        return index >= 0 && index < skills.length ? skills[index] : "vhskill:unknown";
-    }
-
-    private String getTalentName(long itemId) {
-        String[] talents = {
-                "speed", "haste", "strength", "intelligence",
-                "nucleus", "daze", "last_stand", "berserking",
-                "sorcery", "witchery", "frozen_impact", "frostbite",
-                "methodical", "depleted", "prudent", "stoneskin",
-                "blight", "toxic_reaction", "arcana", "blazing",
-                "lucky_momentum", "frenzy", "lightning_finesse",
-                "lightning_mastery", "prime_amplification", "hunter's_instinct",
-                "purist", "farmer_twerker", "bountiful_harvest",
-                "treasure_seeker", "horde_mastery", "champion_mastery",
-                "assassin_mastery", "dungeon_mastery", "fatal_strike",
-                "mana_steal", "life_leech", "cleave",
-                "throw_power", "damage", "conduct", "ethereal"
-        };
-
-        int index = (int)(itemId - 43100);
-        return index >= 0 && index < talents.length ? talents[index] : "unknown";
-    }
-
-    private String getModName(long itemId) {
-        String[] mods = {
-                "colossal_chests", "simple_storage_network", "drawers",
-                "mekanism_qio", "refined_storage", "applied_energistics",
-                "stack_upgrading", "auto_refill", "auto_feeding",
-                "double_pouches", "belts", "backpacks",
-                "big_backpacks", "soul_harvester", "junk_management",
-                "iron_generators", "powah", "flux_networks",
-                "thermal_dynamos", "mekanism_generators", "botania_flux_field",
-                "building_gadgets", "weirding_gadgets", "mining_gadgets",
-                "laser_bridges", "digital_miner", "entangled",
-                "botania", "mekanism", "thermal_expansion",
-                "create", "waystones", "torchmaster",
-                "trashcans", "elevators", "altar_automation",
-                "xnet", "modular_routers", "pipez",
-                "iron_furnaces", "vault_filters", "dark_utilities",
-                "automatic_genius", "easy_villagers", "easy_piglins",
-                "botany_pots", "snad", "cagerium",
-                "mob_spawners", "phytogenic_insulator", "potions",
-                "mixtures", "brews", "vault_compass",
-                "map_markers", "vault_map", "vault_decks"
-        };
-
-        int index = (int)(itemId - 43200);
-        return index >= 0 && index < mods.length ? mods[index] : "unknown";
-    }
-
-    private String getExpertiseName(long itemId) {
-        String[] expertises = {
-                "lucky_altar", "fortuitous_finesse", "fortunate",
-                "experienced", "infuser", "crystalmancer",
-                "trinketer", "divine", "unbreakable",
-                "marketer", "bounty_hunter", "angel",
-                "jeweler", "artisan", "bartering",
-                "companion's_loyalty"
-        };
-
-        int index = (int)(itemId - 43300);
-        return index >= 0 && index < expertises.length ? expertises[index] : "unknown";
-    }
-
-    private void giveFillerItem(ServerPlayer player, long itemId) {
-        int index = (int)(itemId - 33700);
-
-        // Map to actual VH items/commands [itemId, baseCount]
-        String[][] fillers = {
-                // 0: Cooked Vault Steak (8)
-                {"the_vault:cooked_vault_steak", "8"},
-                // 1: Chromatic Iron Ingot (24)
-                {"the_vault:chromatic_iron_ingot", "24"},
-                // 2: Shulker Box (1)
-                {"minecraft:shulker_box", "1"},
-                // 3: Bottle O' Enchanting (20)
-                {"minecraft:experience_bottle", "20"},
-                // 4: Emerald (50)
-                {"minecraft:emerald", "50"},
-                // 5: Ender Pearl (1)
-                {"minecraft:ender_pearl", "1"},
-                // 6: Pouch (1)
-                {"sophisticatedbackpacks:backpack", "1"},
-                // 7: Pickup Upgrade (1)
-                {"sophisticatedbackpacks:pickup_upgrade", "1"},
-                // 8: Void Upgrade (1)
-                {"sophisticatedbackpacks:void_upgrade", "1"},
-                // 9: Bounty Pearl (10)
-                {"the_vault:bounty_pearl", "10"},
-                // 10: Large Chromatic Iron Stack (32)
-                {"the_vault:chromatic_iron_ingot", "32"},
-                // 11: Gemstone (2)
-                {"the_vault:gemstone", "2"},
-                // 12: Chromatic Steel Ingot (4)
-                {"the_vault:chromatic_steel_ingot", "4"},
-                // 13: Small Vault Gold (1)
-                {"the_vault:vault_gold", "1"},
-                // 14: Vault Plating (9)
-                {"the_vault:vault_plating", "9"},
-                // 15: Diamond (5)
-                {"minecraft:diamond", "5"},
-                // 16: Large Vault Bronze Stack (81)
-                {"the_vault:vault_bronze", "81"},
-                // 17: Magnetite Ingot (1)
-                {"the_vault:magnetite_ingot", "1"},
-                // 18: Vault Alloy (1)
-                {"the_vault:vault_alloy", "1"},
-                // 19: Wild Focus (1)
-                {"the_vault:wild_focus", "1"},
-                // 20: Large Vault Plating Stack (12)
-                {"the_vault:vault_plating", "12"},
-                // 21: Vault Bronze Stack (32)
-                {"the_vault:vault_bronze", "32"},
-                // 22: Vault Scrap (1)
-                {"the_vault:vault_scrap", "1"},
-                // 23: Vault Gold (1)
-                {"the_vault:vault_gold", "1"},
-                // 24: Vault Diamond (1)
-                {"the_vault:vault_diamond", "1"},
-                // 25: Hamburger (1)
-                {"the_vault:plain_burger", "1"},
-                // 26: Seal of the Scout (1)
-                {"the_vault:crystal_seal_scout", "1"},
-                // 27: Silver Scrap (1)
-                {"the_vault:silver_scrap", "1"},
-                // 28: Soul Shard (1)
-                {"the_vault:soul_shard", "1"},
-                // 29: Vault Helmet (1)
-                {"the_vault:helmet", "1"},
-                // 30: Vault Chestplate (1)
-                {"the_vault:chestplate", "1"},
-                // 31: Vault Leggings (1)
-                {"the_vault:leggings", "1"},
-                // 32: Vault Boots (1)
-                {"the_vault:boots", "1"},
-                // 33: Mod Box (1)
-                {"the_vault:mod_box", "1"},
-                // 34: MISSING - skipped
-                {"minecraft:barrier", "0"},
-                // 35: Seal of the Sage (1)
-                {"the_vault:crystal_seal_sage", "1"},
-                // 36: Phoenix Capstone (1)
-                {"the_vault:phoenix_feather", "1"},
-                // 37: Catalyst Fragment (1)
-                {"the_vault:vault_catalyst_fragment", "1"},
-                // 38: Inscription Piece (1)
-                {"the_vault:inscription_piece", "1"},
-                // 39: Unidentified Artifact (1)
-                {"the_vault:unidentified_artifact", "1"},
-                // 40: Tiny Vault Gold (4)
-                {"the_vault:vault_gold", "4"},
-                // 41: Vault Trinket (1)
-                {"the_vault:trinket", "1"},
-                // 42: Tiny Vault Diamond (4)
-                {"the_vault:vault_diamond", "4"},
-                // 43: Large Vault Gold (20)
-                {"the_vault:vault_gold", "20"},
-                // 44: POG (1)
-                {"the_vault:gem_pog", "1"},
-                // 45: Netherite Ingot (1)
-                {"minecraft:netherite_ingot", "1"},
-                // 46: Wardrobe (1)
-                {"the_vault:wardrobe", "1"},
-                // 47: Huge Vault Bronze Stack (64)
-                {"the_vault:vault_bronze", "64"},
-                // 48: Echo Gem (1)
-                {"the_vault:gem_echo", "1"},
-                // 49: Small Mod Box (2)
-                {"the_vault:mod_box", "2"},
-                // 50: Sour Orange (1)
-                {"the_vault:sour_orange", "1"},
-                // 51: Bamboo (1)
-                {"minecraft:bamboo", "1"},
-                // 52: Unidentified Noble Charm (1)
-                {"the_vault:trinket", "1"},
-                // 53: Huge Vault Gold Stack (64)
-                {"the_vault:vault_gold", "64"},
-                // 54: Neuralizer (1)
-                {"the_vault:neuralizer", "1"},
-                // 55: Perfect Echo Gem (1)
-                {"the_vault:perfect_echo_gem", "1"},
-                // 56: Lost Bounty (1)
-                {"the_vault:lost_bounty", "1"},
-                // 57: Ember (1)
-                {"the_vault:ember", "1"},
-                // 58: Omega POG (1)
-                {"the_vault:omega_pog", "1"}
-        };
-
-        if (index >= 0 && index < fillers.length) {
-            String itemId_str = fillers[index][0];
-            int baseCount = Integer.parseInt(fillers[index][1]);
-
-            // Skip barrier (index 34)
-            if (itemId_str.equals("minecraft:barrier")) {
-                LOGGER.warn("Attempted to give filler index 34 which is undefined");
-                return;
-            }
-
-            // Special handling for vault gear (needs level)
-            if (itemId_str.startsWith("the_vault:helmet") ||
-                    itemId_str.startsWith("the_vault:chestplate") ||
-                    itemId_str.startsWith("the_vault:leggings") ||
-                    itemId_str.startsWith("the_vault:boots")) {
-
-                String gearType = itemId_str.substring(itemId_str.indexOf(':') + 1);
-                giveVaultGear(player, gearType);
-                return;
-            }
-
-            // Apply random multiplier (1.0x, 1.25x, 1.5x, 1.75x, or 2.0x)
-            float[] multipliers = {1.0f, 1.25f, 1.5f, 1.75f, 2.0f};
-            float multiplier = multipliers[new java.util.Random().nextInt(multipliers.length)];
-            int finalCount = Math.max(1, (int)Math.floor(baseCount * multiplier));
-
-            // Execute /give command on server thread
-            String command = String.format("give %s %s %d",
-                    player.getName().getString(), itemId_str, finalCount);
-
-            player.getServer().getCommands().performCommand(
-                    player.getServer().createCommandSourceStack()
-                            .withSuppressedOutput()
-                            .withPermission(2),
-                    command
-            );
-
-            LOGGER.info("Gave {} x{} ({}x multiplier) to {}",
-                    itemId_str, finalCount, multiplier, player.getName().getString());
+    // ========== NAMES ==========
 
-            String message = String.format("[AP] Received: %dx %s", finalCount,
-                    itemId_str.substring(itemId_str.indexOf(':') + 1));
-
-            player.sendMessage(
-                    new TextComponent(message).withStyle(ChatFormatting.GRAY),
-                    player.getUUID()
-            );
-        } else {
-            LOGGER.warn("Invalid filler item index: {}", index);
-        }
+    public String getPlayerName(int playerSlot) {
+        String alias = playerAliases.get(playerSlot);
+        return alias != null ? alias : "Player " + playerSlot;
     }
 
+    /**
+     * Name of an item from the game played in the given slot, or the raw id if unknown.
+     */
+    public String getItemName(long itemId, int playerSlot) {
+        APGameData data = dataPackages.get(slotGames.get(playerSlot));
+        String name = data != null ? data.itemName(itemId) : null;
+        return name != null ? name : "Item " + itemId;
+    }
 
-    private void giveVaultGear(ServerPlayer player, String gearType) {
-        try {
-            // Get player's vault level
-            int playerLevel = VHDataReader.getPlayerLevel(player);
-
-            // Get the item based on type
-
-            Item item;
-            switch (gearType) {
-                case "helmet" -> {
-                    item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:helmet"));
-                }
-                case "chestplate" -> {
-                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:chestplate"));
-                }
-                case "leggings" -> {
-                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:leggings"));
-                }
-                case "boots" -> {
-                     item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:boots"));
-                }
-                default -> {
-                    LOGGER.warn("Unknown gear type: {}", gearType);
-                    //default to boots or smth idk
-                    item = ForgeRegistries.ITEMS.getValue(new ResourceLocation("the_vault:boots"));
-                }
-            }
-
-
-            // Create ItemStack
-            net.minecraft.world.item.ItemStack stack = new net.minecraft.world.item.ItemStack(item);
-
-            // Try to use VH's gear generation API
-            try {
-                // Look for VaultGear or similar class
-                Class<?> vaultGearClass = Class.forName("iskallia.vault.gear.VaultGearHelper");
-
-                // Try to find a method like "createGear" or "generateGear"
-                java.lang.reflect.Method createGear = vaultGearClass.getMethod("createGear",
-                        net.minecraft.world.item.ItemStack.class, int.class);
-
-                // Generate gear at player's level
-                createGear.invoke(null, stack, playerLevel);
-
-                LOGGER.info("Created vault {} at level {} for {}", gearType, playerLevel, player.getName().getString());
-
-            } catch (ClassNotFoundException | NoSuchMethodException e) {
-                // VH API not found, try alternative approach
-                LOGGER.warn("VH gear API not found, using fallback method");
-
-                // Fallback: Just set the level in NBT manually
-                net.minecraft.nbt.CompoundTag tag = stack.getOrCreateTag();
-                tag.putInt("vaultGearLevel", playerLevel);
-
-                // Add basic client cache so it displays correctly
-                net.minecraft.nbt.CompoundTag clientCache = new net.minecraft.nbt.CompoundTag();
-                clientCache.putInt("rarity", 0); // Common rarity
-                clientCache.putByte("hasModifierLEGENDARY", (byte)0);
-                tag.put("clientCache", clientCache);
-            }
-
-            // Give the item to the player
-            boolean added = player.addItem(stack);
-
-            if (!added) {
-                // Inventory full, drop at feet
-                player.drop(stack, false);
-            }
-
-            player.sendMessage(
-                    new net.minecraft.network.chat.TextComponent(
-                            String.format("[AP] Received: Vault %s (Level %d)", gearType, playerLevel))
-                            .withStyle(net.minecraft.ChatFormatting.GRAY),
-                    player.getUUID()
-            );
-
-        } catch (Exception e) {
-            LOGGER.error("Failed to give vault gear: ", e);
-            // Fallback: give level 0 gear
-            String command = String.format("give %s the_vault:%s 1",
-                    player.getName().getString(), gearType);
-            player.getServer().getCommands().performCommand(
-                    player.getServer().createCommandSourceStack()
-                            .withSuppressedOutput()
-                            .withPermission(2),
-                    command
-            );
-        }
+    public String getLocationName(long locationId, int playerSlot) {
+        APGameData data = dataPackages.get(slotGames.get(playerSlot));
+        String name = data != null ? data.locationName(locationId) : null;
+        return name != null ? name : "Location " + locationId;
     }
-    // ========== UTILITY ==========
 
-    private ServerPlayer getCurrentPlayer() {
-        if (server == null) return null;
+    // ========== UTILITY ==========
 
+    /**
+     * Player that receives the slot's items, resolved at delivery time. The slot
+     * belongs to the whole server, so this is the first player online; with
+     * nobody online, items wait in the delivery queue.
+     */
+    private static ServerPlayer getRecipient(net.minecraft.server.MinecraftServer server) {
         List<ServerPlayer> players = server.getPlayerList().getPlayers();
         return players.isEmpty() ? null : players.get(0);
     }
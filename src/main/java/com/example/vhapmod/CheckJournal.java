@@ -0,0 +1,426 @@
+package com.example.vhapmod;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Append-only journal of outbound location checks, kept in the world save.
+ *
+ * Every check is appended as a CHECK record before it is handed to the batcher,
+ * and an ACK record is appended once the server lists it in checked_locations.
+ * On startup the file is replayed and anything still unacknowledged is resent.
+ * Records are fixed 16 byte entries written with a plain FileChannel append, so
+ * journaling a check is a single small write into the page cache. Nothing that
+ * waits for the disk (sync, or the temp file of a compaction or room switch)
+ * runs while holding the lock record() takes.
+ *
+ * The journal belongs to one room (seed, team and slot), named in a header at
+ * the start of the file. Connecting the world to a different room drops the
+ * old room's pending checks instead of sending them to the new one.
+ *
+ * Header layout: long magic, int key length, int checksum, then the UTF-8 key
+ * padded with zeros to a multiple of 16 bytes. Files written before the header
+ * existed have none and adopt the first room they are bound to.
+ * Record layout: long locationId, int type, int checksum.
+ */
+public class CheckJournal {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int RECORD_SIZE = 16;
+    private static final int TYPE_CHECK = 1;
+    private static final int TYPE_ACK = 2;
+    private static final int CHECKSUM_SALT = 0x5648_4150; // "VHAP"
+    private static final long HEADER_MAGIC = 0x5648_4150_524F_4F4DL; // "VHAPROOM"
+
+    // Compact once the file holds this many records more than it needs to
+    private static final int COMPACT_SLACK = 4096;
+
+    private final Path file;
+    private FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    // Held for a whole rewrite, so only one runs at a time; never taken under the journal lock
+    private final Object rewriteLock = new Object();
+    // Records appended while a rewrite writes its temp file, carried over at the swap
+    private ByteBuffer tail;
+
+    // Room the pending checks belong to, null until the journal is first bound
+    private String room;
+
+    // Checks written but not yet acknowledged, in the order they were made
+    private final Set<Long> unacked = new LinkedHashSet<>();
+    private long recordCount = 0;
+    private boolean unsynced = false;
+
+    private CheckJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open (or create) the journal in a directory and replay what is already in it.
+     */
+    public static CheckJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        CheckJournal journal = new CheckJournal(directory.resolve("check_journal.bin"));
+        journal.replay();
+        journal.channel = FileChannel.open(journal.file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        if (!journal.unacked.isEmpty()) {
+            LOGGER.info("Check journal has {} unacknowledged location check(s)", journal.unacked.size());
+        }
+        return journal;
+    }
+
+    /**
+     * Record a check before it is sent. Returns false if it is already pending.
+     */
+    public synchronized boolean record(long locationId) {
+        if (!unacked.add(locationId)) return false;
+        append(locationId, TYPE_CHECK);
+        return true;
+    }
+
+    /**
+     * Acknowledge every pending check the server reports as checked.
+     */
+    public synchronized void acknowledge(long[] checkedLocations) {
+        if (unacked.isEmpty()) return;
+
+        int acked = 0;
+        for (long locationId : checkedLocations) {
+            if (unacked.remove(locationId)) {
+                append(locationId, TYPE_ACK);
+                acked++;
+            }
+        }
+        if (acked > 0) {
+            LOGGER.debug("Acknowledged {} journaled check(s), {} still pending", acked, unacked.size());
+        }
+    }
+
+    /**
+     * Tie the journal to the room it is about to send to, rewriting the header
+     * if it changes. A journal that belonged to another room loses its pending
+     * checks; a fresh one keeps them. Returns true if it belonged to another room.
+     * Does disk I/O, so call it on the I/O thread.
+     */
+    public boolean bindRoom(String room) {
+        boolean changed;
+        synchronized (this) {
+            if (room.equals(this.room)) return false;
+
+            String previous = this.room;
+            changed = previous != null;
+            if (changed && !unacked.isEmpty()) {
+                LOGGER.warn("Check journal belonged to room {}, dropping its {} unacknowledged check(s)",
+                        previous, unacked.size());
+                unacked.clear();
+            }
+            this.room = room;
+        }
+        rewrite();
+        return changed;
+    }
+
+    /**
+     * Checks that still need to reach the server, oldest first.
+     */
+    public synchronized long[] getPending() {
+        long[] pending = new long[unacked.size()];
+        int i = 0;
+        for (long locationId : unacked) {
+            pending[i++] = locationId;
+        }
+        return pending;
+    }
+
+    /**
+     * Flush appended records to disk. Called on the I/O thread before a batch
+     * goes out on the socket.
+     */
+    public void sync() {
+        FileChannel target;
+        synchronized (this) {
+            if (!unsynced || channel == null) return;
+            target = channel;
+            unsynced = false;
+        }
+
+        // Forced outside the lock so record() on the server thread never waits for the disk
+        try {
+            target.force(false);
+        } catch (IOException e) {
+            synchronized (this) {
+                // A rewrite swapped the file in meanwhile; it was forced before the swap
+                if (target != channel) return;
+                unsynced = true;
+            }
+            LOGGER.error("Failed to sync check journal: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the file with only the pending checks once acknowledged records
+     * pile up. Call it on the I/O thread.
+     */
+    public void compactIfNeeded() {
+        long before;
+        synchronized (this) {
+            if (channel == null || recordCount - unacked.size() < COMPACT_SLACK) return;
+            before = recordCount;
+        }
+
+        long after = rewrite();
+        if (after >= 0) {
+            LOGGER.info("Compacted check journal from {} to {} record(s)", before, after);
+        }
+    }
+
+    /**
+     * Replace the file with the header and the pending checks. The temp file
+     * is written and forced outside the journal lock; records appended in the
+     * meantime go to the old file as usual and are also kept in tail, then
+     * copied into the temp file when it is swapped in under the lock.
+     * Returns the new record count, or -1 if the file was left as it was.
+     */
+    private long rewrite() {
+        synchronized (rewriteLock) {
+            byte[] key;
+            long[] pending;
+            synchronized (this) {
+                if (channel == null) return -1;
+                key = room != null ? room.getBytes(StandardCharsets.UTF_8) : null;
+                pending = getPending();
+                tail = ByteBuffer.allocate(RECORD_SIZE * 64);
+            }
+
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            FileChannel out = null;
+            try {
+                out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                ByteBuffer buffer = ByteBuffer.allocate(headerSize(key) + Math.max(RECORD_SIZE, pending.length * RECORD_SIZE));
+                if (key != null) {
+                    writeHeader(buffer, key);
+                }
+                for (long locationId : pending) {
+                    writeRecord(buffer, locationId, TYPE_CHECK);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) out.write(buffer);
+                out.force(false);
+            } catch (IOException e) {
+                LOGGER.error("Failed to rewrite check journal: {}", e.getMessage());
+                closeQuietly(out);
+                synchronized (this) {
+                    tail = null;
+                }
+                return -1;
+            }
+
+            synchronized (this) {
+                ByteBuffer carried = tail;
+                tail = null;
+                if (channel == null) {
+                    // Closed while the temp file was being written
+                    closeQuietly(out);
+                    return -1;
+                }
+
+                try {
+                    // Only what was appended during the rewrite; it goes to the page cache like any append
+                    carried.flip();
+                    while (carried.hasRemaining()) out.write(carried);
+                    out.close();
+
+                    channel.close();
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+                    int carriedRecords = carried.limit() / RECORD_SIZE;
+                    recordCount = pending.length + carriedRecords;
+                    unsynced = carriedRecords > 0;
+                    return recordCount;
+                } catch (IOException e) {
+                    LOGGER.error("Failed to rewrite check journal: {}", e.getMessage());
+                    closeQuietly(out);
+                    try {
+                        if (!channel.isOpen()) {
+                            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                        }
+                    } catch (IOException reopen) {
+                        LOGGER.error("Check journal unavailable: {}", reopen.getMessage());
+                        channel = null;
+                    }
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    public synchronized void close() {
+        if (channel == null) return;
+        sync();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close check journal: {}", e.getMessage());
+        }
+        channel = null;
+    }
+
+    // ========== RECORDS ==========
+
+    private void append(long locationId, int type) {
+        recordCount++;
+        if (channel == null) return;
+
+        if (tail != null) {
+            if (tail.remaining() < RECORD_SIZE) {
+                ByteBuffer grown = ByteBuffer.allocate(tail.capacity() * 2);
+                tail.flip();
+                grown.put(tail);
+                tail = grown;
+            }
+            writeRecord(tail, locationId, type);
+        }
+
+        record.clear();
+        writeRecord(record, locationId, type);
+        record.flip();
+        try {
+            while (record.hasRemaining()) channel.write(record);
+            unsynced = true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to journal location check {}: {}", locationId, e.getMessage());
+        }
+    }
+
+    private static void writeRecord(ByteBuffer buffer, long locationId, int type) {
+        buffer.putLong(locationId);
+        buffer.putInt(type);
+        buffer.putInt(checksum(locationId, type));
+    }
+
+    private static int checksum(long locationId, int type) {
+        return Long.hashCode(locationId) * 31 + type ^ CHECKSUM_SALT;
+    }
+
+    private static int headerSize(byte[] key) {
+        if (key == null) return 0;
+        return RECORD_SIZE + (key.length + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte[] key) {
+        buffer.putLong(HEADER_MAGIC);
+        buffer.putInt(key.length);
+        buffer.putInt(Arrays.hashCode(key) ^ CHECKSUM_SALT);
+        buffer.put(key);
+        buffer.put(new byte[headerSize(key) - RECORD_SIZE - key.length]);
+    }
+
+    /**
+     * Read the header if there is one. Returns where the records start, or -1
+     * if the header is damaged.
+     */
+    private long readHeader(FileChannel in, long size) throws IOException {
+        if (size < RECORD_SIZE) return 0;
+
+        ByteBuffer head = ByteBuffer.allocate(RECORD_SIZE);
+        in.read(head, 0);
+        head.flip();
+        if (head.remaining() < RECORD_SIZE || head.getLong() != HEADER_MAGIC) return 0;
+
+        int length = head.getInt();
+        int checksum = head.getInt();
+        if (length < 0 || RECORD_SIZE + (long) length > size) return -1;
+
+        ByteBuffer keyBuffer = ByteBuffer.allocate(length);
+        in.read(keyBuffer, RECORD_SIZE);
+        byte[] key = keyBuffer.array();
+        if (keyBuffer.hasRemaining() || (Arrays.hashCode(key) ^ CHECKSUM_SALT) != checksum) return -1;
+
+        room = new String(key, StandardCharsets.UTF_8);
+        return headerSize(key);
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(file)) return;
+
+        long size = Files.size(file);
+        long usable;
+        int torn = 0;
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = readHeader(in, size);
+            if (start < 0) {
+                // Records can't be tied to a room without their header - start over
+                LOGGER.warn("Check journal header is damaged, discarding the journal");
+                try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    out.truncate(0);
+                }
+                return;
+            }
+            usable = size - (size - start) % RECORD_SIZE;
+
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long position = start;
+            while (position < usable) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), usable - position));
+                int read = in.read(buffer, position);
+                if (read <= 0) break;
+                position += read - read % RECORD_SIZE;
+                buffer.flip();
+
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    long locationId = buffer.getLong();
+                    int type = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    recordCount++;
+
+                    if (checksum != checksum(locationId, type)) {
+                        torn++;
+                    } else if (type == TYPE_CHECK) {
+                        unacked.add(locationId);
+                    } else if (type == TYPE_ACK) {
+                        unacked.remove(locationId);
+                    }
+                }
+            }
+        }
+
+        if (torn > 0 || usable != size) {
+            LOGGER.warn("Check journal had {} damaged record(s) and {} trailing byte(s), ignored",
+                    torn, size - usable);
+        }
+        if (usable != size) {
+            // Drop the partial record so new appends stay aligned
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                out.truncate(usable);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.vhapmod;
+
+import java.util.Arrays;
+
+/**
+ * Set of checked location ids.
+ *
+ * Our locations sit in one dense block (skills at 43000 up to chest checks
+ * past 50000), so they are kept as bits in a long[] over that range. Anything
+ * outside it goes into a small open-addressing long set. Nothing is boxed, and
+ * per-category counts are maintained on insert.
+ */
+public class CheckedLocationStore {
+
+    public enum Category {
+        SKILL, TALENT, EXPERTISE, MOD, MILESTONE, OTHER;
+
+        public static Category of(long locationId) {
+            if (locationId >= VaultHuntersData.SKILL_BASE_ID && locationId < VaultHuntersData.TALENT_BASE_ID) return SKILL;
+            if (locationId >= VaultHuntersData.TALENT_BASE_ID && locationId < VaultHuntersData.EXPERTISE_BASE_ID) return TALENT;
+            if (locationId >= VaultHuntersData.EXPERTISE_BASE_ID && locationId < VaultHuntersData.MOD_BASE_ID) return EXPERTISE;
+            if (locationId >= VaultHuntersData.MOD_BASE_ID && locationId < VaultHuntersData.MILESTONE_BASE_ID) return MOD;
+            if (locationId >= VaultHuntersData.MILESTONE_BASE_ID && locationId < VaultHuntersData.MILESTONE_BASE_ID + 100) return MILESTONE;
+            return OTHER;
+        }
+    }
+
+    // Bitmap covers [RANGE_BASE, RANGE_END)
+    static final long RANGE_BASE = 43000L;
+    static final long RANGE_END = 51200L;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] bits;
+    private long[] outliers;
+    private int outlierCount;
+    private final int[] counts = new int[Category.values().length];
+    private int size;
+
+    public CheckedLocationStore() {
+        this.bits = new long[(int) ((RANGE_END - RANGE_BASE + 63) >>> 6)];
+        this.outliers = new long[16];
+        Arrays.fill(outliers, EMPTY);
+    }
+
+    private CheckedLocationStore(CheckedLocationStore other) {
+        this.bits = other.bits.clone();
+        this.outliers = other.outliers.clone();
+        this.outlierCount = other.outlierCount;
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        this.size = other.size;
+    }
+
+    /**
+     * Add a location. Returns false if it was already checked.
+     */
+    public boolean add(long locationId) {
+        if (locationId >= RANGE_BASE && locationId < RANGE_END) {
+            int bit = (int) (locationId - RANGE_BASE);
+            long mask = 1L << bit;
+            long word = bits[bit >>> 6];
+            if ((word & mask) != 0) return false;
+            bits[bit >>> 6] = word | mask;
+        } else if (!addOutlier(locationId)) {
+            return false;
+        }
+
+        counts[Category.of(locationId).ordinal()]++;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long locationId) {
+        if (locationId >= RANGE_BASE && locationId < RANGE_END) {
+            int bit = (int) (locationId - RANGE_BASE);
+            return (bits[bit >>> 6] & (1L << bit)) != 0;
+        }
+        return locationId != EMPTY && outliers[findSlot(outliers, locationId)] == locationId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(Category category) {
+        return counts[category.ordinal()];
+    }
+
+    /**
+     * Independent copy, e.g. to hand to another thread for saving.
+     */
+    public CheckedLocationStore snapshot() {
+        return new CheckedLocationStore(this);
+    }
+
+    /**
+     * All checked ids, range ids first in ascending order, then outliers.
+     */
+    public long[] toArray() {
+        long[] ids = new long[size];
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                ids[n++] = RANGE_BASE + ((long) w << 6) + bit;
+                word &= word - 1;
+            }
+        }
+        for (long id : outliers) {
+            if (id != EMPTY) ids[n++] = id;
+        }
+        return ids;
+    }
+
+    public static CheckedLocationStore fromArray(long[] locationIds) {
+        CheckedLocationStore store = new CheckedLocationStore();
+        for (long locationId : locationIds) {
+            store.add(locationId);
+        }
+        return store;
+    }
+
+    // ========== OUTLIERS ==========
+
+    private boolean addOutlier(long locationId) {
+        if (locationId == EMPTY) return false;
+
+        int slot = findSlot(outliers, locationId);
+        if (outliers[slot] == locationId) return false;
+
+        outliers[slot] = locationId;
+        outlierCount++;
+        // Keep the load factor under 1/2
+        if (outlierCount * 2 > outliers.length) {
+            long[] old = outliers;
+            outliers = new long[old.length * 2];
+            Arrays.fill(outliers, EMPTY);
+            for (long id : old) {
+                if (id != EMPTY) outliers[findSlot(outliers, id)] = id;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Slot holding the id, or the empty slot where it would go (linear probing).
+     */
+    private static int findSlot(long[] table, long locationId) {
+        int mask = table.length - 1;
+        int slot = (int) (locationId ^ (locationId >>> 32)) * 0x9E3779B9 >>> 1 & mask;
+        while (table[slot] != EMPTY && table[slot] != locationId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
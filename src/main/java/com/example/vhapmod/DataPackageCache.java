@@ -0,0 +1,150 @@
+package com.example.vhapmod;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * On-disk cache of AP DataPackages under config/vhapmod_datapackage/.
+ *
+ * Each game's package is stored in its own file named after its checksum, so a
+ * package is only downloaded again when the server reports a new checksum.
+ * Cached packages are read lazily (on the I/O executor) the first time a name
+ * from that game is needed.
+ */
+public class DataPackageCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String CACHE_DIR = "config/vhapmod_datapackage";
+
+    private final Executor ioExecutor;
+
+    // Checksums the current room expects, by game
+    private volatile Map<String, String> checksums = Map.of();
+    private final Map<String, APGameData> loaded = new ConcurrentHashMap<>();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    public DataPackageCache(Executor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+    }
+
+    /**
+     * Start a new room. Returns the games whose package is not cached and must be requested.
+     */
+    public List<String> setChecksums(Map<String, String> roomChecksums) {
+        this.checksums = Map.copyOf(roomChecksums);
+
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, String> entry : checksums.entrySet()) {
+            String game = entry.getKey();
+            APGameData data = loaded.get(game);
+            if (data != null && data.checksum().equals(entry.getValue())) continue;
+
+            loaded.remove(game);
+            if (!cacheFile(game, entry.getValue()).exists()) {
+                missing.add(game);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Package for a game, or null if it isn't in memory yet (a background load is started).
+     */
+    public APGameData get(String game) {
+        if (game == null) return null;
+
+        APGameData data = loaded.get(game);
+        if (data != null) return data;
+
+        String checksum = checksums.get(game);
+        if (checksum != null && loading.add(game)) {
+            ioExecutor.execute(() -> {
+                try {
+                    load(game, checksum);
+                } finally {
+                    loading.remove(game);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Keep a package that just arrived in a DataPackage packet and write it to disk.
+     */
+    public void store(APGameData data) {
+        loaded.put(data.game(), data);
+        if (data.checksum() == null || data.checksum().isEmpty()) return;
+
+        ioExecutor.execute(() -> write(data));
+    }
+
+    // ========== DISK ==========
+
+    private void load(String game, String checksum) {
+        File file = cacheFile(game, checksum);
+        if (!file.exists()) return;
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            APGameData data = APPacketDecoder.readGameData(new JsonReader(in), game);
+            loaded.putIfAbsent(game, data);
+            LOGGER.info("Loaded cached DataPackage for {} ({} items, {} locations)",
+                    game, data.itemNames().size(), data.locationNames().size());
+        } catch (Exception e) {
+            LOGGER.error("Failed to read cached DataPackage for {}: {}", game, e.getMessage());
+            file.delete();
+        }
+    }
+
+    private void write(APGameData data) {
+        File file = cacheFile(data.game(), data.checksum());
+        File tmp = new File(file.getPath() + ".tmp");
+
+        try {
+            file.getParentFile().mkdirs();
+            try (BufferedWriter out = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8);
+                 JsonWriter writer = new JsonWriter(out)) {
+                writer.beginObject();
+                writer.name("checksum").value(data.checksum());
+                writeNames(writer, "item_name_to_id", data.itemNames());
+                writeNames(writer, "location_name_to_id", data.locationNames());
+                writer.endObject();
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("Cached DataPackage for {}", data.game());
+        } catch (IOException e) {
+            LOGGER.error("Failed to cache DataPackage for {}: {}", data.game(), e.getMessage());
+            tmp.delete();
+        }
+    }
+
+    private static void writeNames(JsonWriter writer, String key, NameTable names) throws IOException {
+        writer.name(key).beginObject();
+        for (int i = 0; i < names.size(); i++) {
+            writer.name(names.nameAt(i)).value(names.idAt(i));
+        }
+        writer.endObject();
+    }
+
+    private static File cacheFile(String game, String checksum) {
+        String safeGame = game.replaceAll("[^A-Za-z0-9._-]", "_");
+        String safeChecksum = checksum.replaceAll("[^A-Za-z0-9]", "");
+        return new File(CACHE_DIR, safeGame + "-" + safeChecksum + ".json");
+    }
+}
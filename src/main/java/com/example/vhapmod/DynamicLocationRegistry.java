@@ -0,0 +1,284 @@
+package com.example.vhapmod;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Location ids handed out at runtime to talents, expertises and mods that are
+ * not in the tables.
+ *
+ * Names are kept per category, so a mod and a talent with the same name get
+ * their own ids. Reads are plain ConcurrentHashMap gets. A new name claims an
+ * id from its category's range with an atomic cursor, skipping ids the tables
+ * already use, and never leaves that range. Assignments are written to
+ * config/vhapmod_dynamic_locations.json on the AP client's I/O thread and
+ * loaded on startup, so an unknown talent keeps the same id across restarts.
+ */
+public class DynamicLocationRegistry {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * A category that accepts dynamic ids, with its [start, end) id range.
+     */
+    private enum Range {
+        TALENT(LocationIndex.Kind.TALENT, VaultHuntersData.TALENT_BASE_ID, VaultHuntersData.EXPERTISE_BASE_ID),
+        EXPERTISE(LocationIndex.Kind.EXPERTISE, VaultHuntersData.EXPERTISE_BASE_ID, VaultHuntersData.MOD_BASE_ID),
+        MOD(LocationIndex.Kind.MOD, VaultHuntersData.MOD_BASE_ID, VaultHuntersData.MILESTONE_BASE_ID);
+
+        final LocationIndex.Kind kind;
+        final long start;
+        final long end;
+
+        Range(LocationIndex.Kind kind, long start, long end) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Range of(LocationIndex.Kind kind) {
+            Range range = find(kind);
+            if (range == null) throw new IllegalArgumentException("No dynamic id range for " + kind);
+            return range;
+        }
+
+        static Range find(LocationIndex.Kind kind) {
+            for (Range range : values()) {
+                if (range.kind == kind) return range;
+            }
+            return null;
+        }
+
+        static Range containing(long id) {
+            for (Range range : values()) {
+                if (id >= range.start && id < range.end) return range;
+            }
+            return null;
+        }
+    }
+
+    private final File file;
+    // One name -> id map per range; filled in the constructor, never replaced
+    private final Map<Range, Map<String, Long>> ids = new EnumMap<>(Range.class);
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final AtomicLong[] cursors = new AtomicLong[Range.values().length];
+    private final AtomicBoolean[] exhausted = new AtomicBoolean[Range.values().length];
+    private final AtomicBoolean saveQueued = new AtomicBoolean(false);
+    // Writes inline until the mod hands over the I/O thread
+    private volatile Executor saveExecutor = Runnable::run;
+
+    public DynamicLocationRegistry(File file) {
+        this.file = file;
+        for (Range range : Range.values()) {
+            cursors[range.ordinal()] = new AtomicLong(range.start);
+            exhausted[range.ordinal()] = new AtomicBoolean(false);
+            ids.put(range, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Id registered for a name of the given kind, or null.
+     */
+    public Long get(String name, LocationIndex.Kind kind) {
+        Range range = Range.find(kind);
+        return range != null ? ids.get(range).get(name) : null;
+    }
+
+    /**
+     * Id registered for a name under any kind (talents first, then
+     * expertises, then mods), or null.
+     */
+    public Long get(String name) {
+        for (Map<String, Long> byName : ids.values()) {
+            Long id = byName.get(name);
+            if (id != null) return id;
+        }
+        return null;
+    }
+
+    /**
+     * Name registered at an id, or null.
+     */
+    public String getName(long locationId) {
+        return names.get(locationId);
+    }
+
+    /**
+     * Kind of a registered id, or null if nothing is registered there.
+     */
+    public LocationIndex.Kind getKind(long locationId) {
+        if (!names.containsKey(locationId)) return null;
+        Range range = Range.containing(locationId);
+        return range != null ? range.kind : null;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Read-only name -> id copy of every registered location. A name
+     * registered under several kinds keeps the id of the last one (mods).
+     */
+    public Map<String, Long> asMap() {
+        Map<String, Long> all = new HashMap<>();
+        for (Map<String, Long> byName : ids.values()) {
+            all.putAll(byName);
+        }
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Id for a name, claiming the next free id in the kind's range on first
+     * use. Returns null once the range is used up.
+     */
+    public Long register(String name, LocationIndex.Kind kind) {
+        Range range = Range.of(kind);
+        Map<String, Long> byName = ids.get(range);
+        Long id = byName.get(name);
+        if (id != null) return id;
+
+        id = byName.computeIfAbsent(name, n -> allocate(range));
+        if (id == null) return null;
+
+        if (names.putIfAbsent(id, name) == null) {
+            LOGGER.info("Registered dynamic {} location {} -> {}", kind, name, id);
+            scheduleSave();
+        }
+        return id;
+    }
+
+    private Long allocate(Range range) {
+        AtomicLong cursor = cursors[range.ordinal()];
+        LocationIndex tables = APTables.current().locations();
+        while (true) {
+            long id = cursor.getAndIncrement();
+            if (id >= range.end) {
+                cursor.set(range.end);
+                if (exhausted[range.ordinal()].compareAndSet(false, true)) {
+                    LOGGER.warn("No free {} location ids left in [{}, {})", range.kind, range.start, range.end);
+                }
+                return null;
+            }
+            if (tables.getName(id) == null && !names.containsKey(id)) return id;
+        }
+    }
+
+    /**
+     * Warn about registered ids that reloaded tables now define themselves.
+     * The table entry wins for lookups by id.
+     */
+    public void checkAgainst(LocationIndex tables) {
+        for (Map.Entry<Long, String> entry : names.entrySet()) {
+            String defined = tables.getName(entry.getKey());
+            if (defined != null && !defined.equals(entry.getValue())) {
+                LOGGER.warn("Dynamic location {} ({}) now clashes with table entry {}",
+                        entry.getValue(), entry.getKey(), defined);
+            }
+        }
+    }
+
+    // ========== PERSISTENCE ==========
+
+    /**
+     * Load saved assignments. Entries outside their range, on ids the tables
+     * now define, or whose name the tables now define for the same kind, are
+     * dropped.
+     */
+    public static DynamicLocationRegistry load(File file) {
+        DynamicLocationRegistry registry = new DynamicLocationRegistry(file);
+        if (!file.exists()) return registry;
+
+        LocationIndex tables = APTables.current().locations();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonObject root = GSON.fromJson(reader, JsonObject.class);
+            if (root == null) return registry;
+
+            for (Map.Entry<String, JsonElement> category : root.entrySet()) {
+                Range range = Range.of(LocationIndex.Kind.valueOf(category.getKey().toUpperCase(Locale.ROOT)));
+                for (Map.Entry<String, JsonElement> entry : category.getValue().getAsJsonObject().entrySet()) {
+                    String name = entry.getKey();
+                    long id = entry.getValue().getAsLong();
+
+                    Long defined = tables.getId(name);
+                    if (id < range.start || id >= range.end || tables.getName(id) != null
+                            || (defined != null && tables.getKind(defined) == range.kind)
+                            || registry.names.containsKey(id)) {
+                        LOGGER.warn("Dropping saved dynamic location {} -> {}", name, id);
+                        continue;
+                    }
+                    registry.ids.get(range).put(name, id);
+                    registry.names.put(id, name);
+
+                    AtomicLong cursor = registry.cursors[range.ordinal()];
+                    cursor.set(Math.max(cursor.get(), id + 1));
+                }
+            }
+            LOGGER.info("Loaded {} dynamic location id(s)", registry.size());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to load dynamic locations: {}", e.getMessage());
+        }
+        return registry;
+    }
+
+    /**
+     * Run saves on this executor. It must run them one at a time.
+     */
+    public void setSaveExecutor(Executor executor) {
+        this.saveExecutor = executor;
+    }
+
+    private void scheduleSave() {
+        if (saveQueued.compareAndSet(false, true)) {
+            saveExecutor.execute(this::save);
+        }
+    }
+
+    private synchronized void save() {
+        // Clear first so a registration made while writing queues another save
+        saveQueued.set(false);
+
+        JsonObject root = new JsonObject();
+        for (Range range : Range.values()) {
+            JsonObject category = new JsonObject();
+            for (Map.Entry<String, Long> entry : ids.get(range).entrySet()) {
+                category.addProperty(entry.getKey(), entry.getValue());
+            }
+            root.add(range.kind.name().toLowerCase(Locale.ROOT), category);
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) parent.mkdirs();
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                GSON.toJson(root, writer);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save dynamic locations: {}", e.getMessage());
+        }
+    }
+}
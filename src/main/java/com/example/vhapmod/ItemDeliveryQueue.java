@@ -0,0 +1,181 @@
+package com.example.vhapmod;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pending AP item grants, delivered a few at a time on the server thread.
+ *
+ * Grants are grouped by category (all skills, then talents, ...) and drained
+ * under a per-tick time budget. Whatever does not fit is carried into the next
+ * tick, so a large release doesn't stall the server. Grants are not bound to a
+ * player: the recipient is resolved when they are delivered, so nothing is
+ * stranded on a player who logged out in the meantime.
+ */
+public class ItemDeliveryQueue {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public enum Category {
+        SKILL, TALENT, MOD, EXPERTISE, FILLER, UNKNOWN;
+
+        public static Category of(long itemId) {
+            APItemTable.Handler handler = APItemTable.get(itemId);
+            return handler != null ? handler.category() : UNKNOWN;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void deliver(ServerPlayer player, Category category, int index, long itemId, long locationId);
+    }
+
+    /**
+     * FIFO of (index, itemId, locationId) entries for one category.
+     */
+    private static final class Group {
+        int[] indices = new int[16];
+        long[] items = new long[16];
+        long[] locations = new long[16];
+        int head = 0;
+        int tail = 0;
+
+        void add(int index, long itemId, long locationId) {
+            if (tail == items.length) {
+                if (head > 0) {
+                    // Compact before growing
+                    System.arraycopy(indices, head, indices, 0, tail - head);
+                    System.arraycopy(items, head, items, 0, tail - head);
+                    System.arraycopy(locations, head, locations, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                }
+                if (tail == items.length) {
+                    indices = Arrays.copyOf(indices, indices.length * 2);
+                    items = Arrays.copyOf(items, items.length * 2);
+                    locations = Arrays.copyOf(locations, locations.length * 2);
+                }
+            }
+            indices[tail] = index;
+            items[tail] = itemId;
+            locations[tail] = locationId;
+            tail++;
+        }
+
+        int size() {
+            return tail - head;
+        }
+    }
+
+    private final Map<Category, Group> groups = new LinkedHashMap<>();
+    private final Handler handler;
+    private final Function<MinecraftServer, ServerPlayer> recipient;
+    private final long budgetNanos;
+    private int depth = 0;
+
+    // Stats from the last tick that delivered anything
+    private int lastTickDelivered = 0;
+    private long lastTickNanos = 0;
+    private long totalDelivered = 0;
+
+    /**
+     * @param recipient player to deliver to this tick, or null to hold everything
+     */
+    public ItemDeliveryQueue(Handler handler, Function<MinecraftServer, ServerPlayer> recipient, long budgetMs) {
+        this.handler = handler;
+        this.recipient = recipient;
+        this.budgetNanos = Math.max(1, budgetMs) * 1_000_000L;
+    }
+
+    /**
+     * @param index position of the item in the slot's ReceivedItems list
+     */
+    public void enqueue(int index, long itemId, long locationId) {
+        Category category = Category.of(itemId);
+        groups.computeIfAbsent(category, key -> new Group()).add(index, itemId, locationId);
+        depth++;
+    }
+
+    /**
+     * Deliver queued grants until the budget for this tick is used up.
+     * At least one grant is delivered per tick so the queue always makes progress.
+     * While there is no one to deliver to, everything stays queued.
+     */
+    public void tick(MinecraftServer server) {
+        if (depth == 0 || server == null) return;
+
+        ServerPlayer player = recipient.apply(server);
+        if (player == null) return;
+
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int delivered = 0;
+
+        Iterator<Map.Entry<Category, Group>> it = groups.entrySet().iterator();
+        outer:
+        while (it.hasNext()) {
+            Map.Entry<Category, Group> entry = it.next();
+            Category category = entry.getKey();
+            Group group = entry.getValue();
+
+            while (group.size() > 0) {
+                int index = group.indices[group.head];
+                long itemId = group.items[group.head];
+                long locationId = group.locations[group.head];
+                group.head++;
+                depth--;
+                delivered++;
+
+                try {
+                    handler.deliver(player, category, index, itemId, locationId);
+                } catch (Exception e) {
+                    LOGGER.error("Failed to deliver item {} to {}: {}", itemId, player.getName().getString(), e.getMessage());
+                }
+
+                if (System.nanoTime() >= deadline) {
+                    if (group.size() == 0) it.remove();
+                    break outer;
+                }
+            }
+            it.remove();
+        }
+
+        if (delivered > 0) {
+            lastTickDelivered = delivered;
+            lastTickNanos = System.nanoTime() - start;
+            totalDelivered += delivered;
+        }
+    }
+
+    /**
+     * Drop every queued grant.
+     */
+    public void clear() {
+        groups.clear();
+        depth = 0;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getLastTickDelivered() {
+        return lastTickDelivered;
+    }
+
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    public long getTotalDelivered() {
+        return totalDelivered;
+    }
+}
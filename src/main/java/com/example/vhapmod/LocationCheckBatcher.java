@@ -0,0 +1,148 @@
+package com.example.vhapmod;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Single outbound gateway for location checks.
+ * Drops checks that were already sent and coalesces the rest into one
+ * LocationChecks packet per flush window (or as soon as the size cap is hit).
+ */
+public class LocationCheckBatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ScheduledExecutorService scheduler;
+    private final Predicate<String> sender;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    // Every location that has gone through the gateway (a bitmap over our id range, unboxed)
+    private CheckedLocationStore submitted = new CheckedLocationStore();
+
+    // Checks waiting for the next flush
+    private long[] pending = new long[16];
+    private int pendingCount = 0;
+    private ScheduledFuture<?> scheduledFlush;
+    // An immediate flush is queued on the scheduler; keeps a backed-up socket from
+    // queueing one flush per submit while the batch sits over the cap
+    private boolean flushQueued = false;
+
+    /**
+     * @param sender sends a complete frame, returns false if the socket is not usable
+     */
+    public LocationCheckBatcher(ScheduledExecutorService scheduler, Predicate<String> sender, long windowMs, int maxBatchSize) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Queue a location check. Returns false if it was already sent or queued.
+     */
+    public synchronized boolean submit(long locationId) {
+        if (!submitted.add(locationId)) {
+            LOGGER.debug("Skipping duplicate location check: {}", locationId);
+            return false;
+        }
+
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        }
+        pending[pendingCount++] = locationId;
+
+        if (pendingCount >= maxBatchSize) {
+            // Cap reached - flush right away instead of waiting for the window
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = null;
+            if (!flushQueued) {
+                flushQueued = true;
+                scheduler.execute(this::flush);
+            }
+        } else if (scheduledFlush == null && !flushQueued) {
+            scheduledFlush = scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Queue checks again even if they went through the gateway before (journal replay
+     * after a restart or reconnect). They go out with the next flush.
+     */
+    public synchronized void resend(long[] locationIds) {
+        // What is already queued, so each id is checked in constant time
+        CheckedLocationStore queued = CheckedLocationStore.fromArray(Arrays.copyOf(pending, pendingCount));
+        for (long locationId : locationIds) {
+            submitted.add(locationId);
+            if (!queued.add(locationId)) continue;
+
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            pending[pendingCount++] = locationId;
+        }
+    }
+
+    /**
+     * Forget every queued and sent check, for a switch to another room.
+     */
+    public synchronized void reset() {
+        submitted = new CheckedLocationStore();
+        pendingCount = 0;
+    }
+
+    /**
+     * Send everything that is queued as one LocationChecks packet.
+     * If the socket is down or backed up the checks stay queued for the next flush.
+     * Only call this on the scheduler thread.
+     */
+    public void flush() {
+        long[] batch;
+        synchronized (this) {
+            scheduledFlush = null;
+            flushQueued = false;
+            if (pendingCount == 0) return;
+            batch = Arrays.copyOf(pending, pendingCount);
+        }
+
+        StringBuilder frame = new StringBuilder(48 + batch.length * 7);
+        frame.append("[{\"cmd\":\"LocationChecks\",\"locations\":[");
+        for (int i = 0; i < batch.length; i++) {
+            if (i > 0) frame.append(',');
+            frame.append(batch[i]);
+        }
+        frame.append("]}]");
+
+        // Sent without holding the lock: the sender syncs the journal to disk,
+        // and submit() on the server thread must not wait for that
+        if (!sender.test(frame.toString())) {
+            LOGGER.warn("Cannot send {} location check(s) right now, keeping them queued", batch.length);
+            return;
+        }
+
+        synchronized (this) {
+            // Only flush() removes entries, so the batch is still at the front;
+            // checks submitted while it was sending stay queued
+            System.arraycopy(pending, batch.length, pending, 0, pendingCount - batch.length);
+            pendingCount -= batch.length;
+        }
+        LOGGER.info("✓ Sent {} location check(s): {}", batch.length, Arrays.toString(batch));
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    public synchronized boolean isSubmitted(long locationId) {
+        return submitted.contains(locationId);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.vhapmod;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable two-way index over every location VaultHuntersData defines.
+ *
+ * Our location ids are one dense block, so id -> name and id -> kind are
+ * plain arrays indexed by (id - base). Name -> id is a minimal perfect hash
+ * over all kinds whose slots hold the id; the name stored at that id confirms
+ * the match. Both directions are a couple of array reads. Locations
+ * registered at runtime live in DynamicLocationRegistry, not here.
+ */
+public final class LocationIndex {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public enum Kind {
+        SKILL, TALENT, EXPERTISE, MOD, MILESTONE, QUEST, TRINKET
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final byte NONE = -1;
+
+    private final long base;
+    private final String[] names;
+    private final byte[] kinds;
+    private final int[] counts;
+    private final PerfectHash nameHash;
+    // Location id stored at each hash slot
+    private final long[] slotIds;
+
+    private LocationIndex(long base, String[] names, byte[] kinds, int[] counts,
+                          PerfectHash nameHash, long[] slotIds) {
+        this.base = base;
+        this.names = names;
+        this.kinds = kinds;
+        this.counts = counts;
+        this.nameHash = nameHash;
+        this.slotIds = slotIds;
+    }
+
+    /**
+     * Index over tables generated at build time (see GeneratedTables).
+     */
+    public static LocationIndex of(long base, String[] names, Kind[] kinds, int[] hashSeeds, long[] slotIds) {
+        byte[] kindBytes = new byte[kinds.length];
+        int[] counts = new int[KINDS.length];
+        for (int i = 0; i < kinds.length; i++) {
+            kindBytes[i] = kinds[i] == null ? NONE : (byte) kinds[i].ordinal();
+            if (kinds[i] != null) counts[kinds[i].ordinal()]++;
+        }
+        return new LocationIndex(base, names, kindBytes, counts, PerfectHash.of(hashSeeds), slotIds);
+    }
+
+    /**
+     * Lay out the hash over dense name/kind arrays.
+     */
+    private static LocationIndex index(long base, String[] names, byte[] kinds) {
+        int size = 0;
+        for (String name : names) {
+            if (name != null) size++;
+        }
+
+        String[] keys = new String[size];
+        long[] keyIds = new long[size];
+        int[] counts = new int[KINDS.length];
+        int k = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null) continue;
+            keys[k] = names[i];
+            keyIds[k] = base + i;
+            counts[kinds[i]]++;
+            k++;
+        }
+
+        int[] slotOf = new int[size];
+        PerfectHash nameHash = PerfectHash.build(keys, slotOf);
+        long[] slotIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            slotIds[slotOf[i]] = keyIds[i];
+        }
+        return new LocationIndex(base, names, kinds, counts, nameHash, slotIds);
+    }
+
+    /**
+     * Location name for an id, or null if nothing is registered there.
+     */
+    public String getName(long locationId) {
+        long slot = locationId - base;
+        return slot >= 0 && slot < names.length ? names[(int) slot] : null;
+    }
+
+    /**
+     * Kind of location at an id, or null if nothing is registered there.
+     */
+    public Kind getKind(long locationId) {
+        long slot = locationId - base;
+        if (slot < 0 || slot >= kinds.length || kinds[(int) slot] == NONE) return null;
+        return KINDS[kinds[(int) slot]];
+    }
+
+    /**
+     * Location id for a name, or null if unknown.
+     */
+    public Long getId(String locationName) {
+        if (slotIds.length == 0) return null;
+        long id = slotIds[nameHash.slot(locationName)];
+        return locationName.equals(getName(id)) ? id : null;
+    }
+
+    public int size() {
+        return slotIds.length;
+    }
+
+    public int count(Kind kind) {
+        return counts[kind.ordinal()];
+    }
+
+    /**
+     * Name -> id map of every indexed location, in id order. Built on each call.
+     */
+    public Map<String, Long> asMap() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) map.put(names[i], base + i);
+        }
+        return map;
+    }
+
+    // ========== BUILDER ==========
+
+    /**
+     * Collects the category maps and checks them for clashing ids before the
+     * arrays are laid out. Not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<Long, String> byId = new HashMap<>();
+        private final Map<Long, Kind> kindById = new HashMap<>();
+        private final Map<String, Long> byName = new HashMap<>();
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+        private int duplicates = 0;
+
+        public Builder addAll(Map<String, Long> locations, Kind kind) {
+            for (Map.Entry<String, Long> entry : locations.entrySet()) {
+                add(entry.getKey(), entry.getValue(), kind);
+            }
+            return this;
+        }
+
+        public Builder add(String name, long locationId, Kind kind) {
+            String existing = byId.get(locationId);
+            if (existing != null) {
+                LOGGER.warn("Duplicate location id {}: {} ({}) clashes with {} ({}), keeping the first",
+                        locationId, name, kind, existing, kindById.get(locationId));
+                duplicates++;
+                return this;
+            }
+            Long existingId = byName.get(name);
+            if (existingId != null) {
+                LOGGER.warn("Duplicate location name {}: ids {} and {}, keeping the first",
+                        name, existingId, locationId);
+                duplicates++;
+                return this;
+            }
+            byId.put(locationId, name);
+            kindById.put(locationId, kind);
+            byName.put(name, locationId);
+            minId = Math.min(minId, locationId);
+            maxId = Math.max(maxId, locationId);
+            return this;
+        }
+
+        /**
+         * Warn about location ids that also appear as item ids. Items and
+         * locations are separate id spaces in Archipelago, but the ranges here
+         * are meant to be disjoint and an overlap usually means a typo.
+         */
+        public Builder checkAgainstItems(long... itemIds) {
+            for (long itemId : itemIds) {
+                String existing = byId.get(itemId);
+                if (existing != null) {
+                    LOGGER.warn("Location {} ({}) uses the same id as an item", existing, itemId);
+                    duplicates++;
+                }
+            }
+            return this;
+        }
+
+        public int getDuplicateCount() {
+            return duplicates;
+        }
+
+        public LocationIndex build() {
+            if (byId.isEmpty()) {
+                return index(0, new String[0], new byte[0]);
+            }
+
+            int length = (int) (maxId - minId + 1);
+            String[] names = new String[length];
+            byte[] kinds = new byte[length];
+            Arrays.fill(kinds, NONE);
+
+            for (Map.Entry<Long, String> entry : byId.entrySet()) {
+                int slot = (int) (entry.getKey() - minId);
+                names[slot] = entry.getValue();
+                kinds[slot] = (byte) kindById.get(entry.getKey()).ordinal();
+            }
+            return index(minId, names, kinds);
+        }
+    }
+}
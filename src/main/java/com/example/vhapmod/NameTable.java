@@ -0,0 +1,179 @@
+package com.example.vhapmod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable id -> name table for one DataPackage category (items or locations).
+ *
+ * Names live in a single UTF-8 byte pool addressed by an int offset array, and
+ * ids are a sorted long array searched with binary search. A name is only turned
+ * back into a String when a message is actually rendered. Compared to a
+ * HashMap&lt;Long, String&gt; this drops the Long, String, node and table overhead
+ * (~100 bytes per entry) down to 12 bytes plus the name's UTF-8 length.
+ */
+public final class NameTable {
+
+    public static final NameTable EMPTY = new NameTable(new long[0], new int[1], new byte[0]);
+
+    private final long[] ids;
+    // offsets[i]..offsets[i + 1] is the name of ids[i]
+    private final int[] offsets;
+    private final byte[] pool;
+
+    private NameTable(long[] ids, int[] offsets, byte[] pool) {
+        this.ids = ids;
+        this.offsets = offsets;
+        this.pool = pool;
+    }
+
+    /**
+     * Name for an id, or null if it isn't in the table.
+     */
+    public String get(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? nameAt(index) : null;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public String nameAt(int index) {
+        int start = offsets[index];
+        return new String(pool, start, offsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    // ========== FOOTPRINT ==========
+
+    /**
+     * Approximate retained heap of this table, in bytes.
+     */
+    public long footprintBytes() {
+        // Three array headers (16 bytes each) plus their contents
+        return 48L + ids.length * 8L + offsets.length * 4L + pool.length;
+    }
+
+    /**
+     * Approximate heap the same entries would take in a HashMap&lt;Long, String&gt;
+     * (compressed oops: 32 byte node, 16 byte Long, 24 byte String + byte[] body,
+     * plus a 4 byte table slot at 0.75 load factor).
+     */
+    public long naiveMapBytes() {
+        long bytes = 48L + (long) Math.ceil(ids.length / 0.75) * 4L;
+        for (int i = 0; i < ids.length; i++) {
+            int nameBytes = offsets[i + 1] - offsets[i];
+            bytes += 32 + 16 + 24 + 16 + ((nameBytes + 7) & ~7);
+        }
+        return bytes;
+    }
+
+    // ========== BUILDER ==========
+
+    /**
+     * Collects entries while a DataPackage is streamed in. Not thread-safe.
+     */
+    public static final class Builder {
+        private long[] ids = new long[64];
+        private int[] ends = new int[64];
+        private byte[] pool = new byte[1024];
+        private int count = 0;
+        private int poolSize = 0;
+
+        public Builder add(long id, String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            if (poolSize + bytes.length > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + bytes.length));
+            }
+
+            System.arraycopy(bytes, 0, pool, poolSize, bytes.length);
+            poolSize += bytes.length;
+            ids[count] = id;
+            ends[count] = poolSize;
+            count++;
+            return this;
+        }
+
+        public NameTable build() {
+            if (count == 0) return EMPTY;
+
+            // Entry i's name is pool[start(i), ends[i]) in insertion order
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) order[i] = i;
+            long[] sortedIds = Arrays.copyOf(ids, count);
+            sortById(sortedIds, order, 0, count - 1);
+
+            // Re-lay the pool in id order, dropping duplicate ids
+            long[] outIds = new long[count];
+            int[] outOffsets = new int[count + 1];
+            byte[] outPool = new byte[poolSize];
+            int outCount = 0;
+            int outPoolSize = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (outCount > 0 && outIds[outCount - 1] == sortedIds[i]) continue;
+
+                int entry = order[i];
+                int start = entry == 0 ? 0 : ends[entry - 1];
+                int length = ends[entry] - start;
+
+                System.arraycopy(pool, start, outPool, outPoolSize, length);
+                outIds[outCount] = sortedIds[i];
+                outOffsets[outCount] = outPoolSize;
+                outPoolSize += length;
+                outCount++;
+            }
+            outOffsets[outCount] = outPoolSize;
+
+            if (outCount < count) {
+                outIds = Arrays.copyOf(outIds, outCount);
+                outOffsets = Arrays.copyOf(outOffsets, outCount + 1);
+                outPool = Arrays.copyOf(outPool, outPoolSize);
+            }
+            return new NameTable(outIds, outOffsets, outPool);
+        }
+
+        /**
+         * Quicksort of ids with the entry order array carried along. Stable
+         * ordering isn't needed; duplicate ids are rare and only one is kept.
+         */
+        private static void sortById(long[] ids, int[] order, int lo, int hi) {
+            while (lo < hi) {
+                long pivot = ids[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (ids[i] < pivot) i++;
+                    while (ids[j] > pivot) j--;
+                    if (i <= j) {
+                        long id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+                        int o = order[i]; order[i] = order[j]; order[j] = o;
+                        i++;
+                        j--;
+                    }
+                }
+                // Recurse into the smaller half, loop on the larger
+                if (j - lo < hi - i) {
+                    sortById(ids, order, lo, j);
+                    lo = i;
+                } else {
+                    sortById(ids, order, i, hi);
+                    hi = j;
+                }
+            }
+        }
+    }
+}
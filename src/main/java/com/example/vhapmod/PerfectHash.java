@@ -0,0 +1,124 @@
+package com.example.vhapmod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal perfect hash over a fixed set of strings (hash and displace).
+ *
+ * Keys are split into buckets by a first hash. Each bucket gets a seed for a
+ * second hash that lands all of its keys on free slots; single-key buckets
+ * store their slot directly as a negative seed. n keys map onto exactly n
+ * slots, so a lookup is two hashes and one int read. Callers must check the
+ * key stored at the slot, since unknown strings also map to some slot.
+ *
+ * The generateApTables task in build.gradle builds the same structure at
+ * compile time; hash() must stay in sync with it.
+ */
+public final class PerfectHash {
+
+    // Give up on a bucket after this many seeds; only hit with duplicate keys
+    private static final int MAX_SEED = 1 << 20;
+
+    private final int[] seeds;
+
+    private PerfectHash(int[] seeds) {
+        this.seeds = seeds;
+    }
+
+    /**
+     * Wrap seeds produced at build time.
+     */
+    public static PerfectHash of(int[] seeds) {
+        return new PerfectHash(seeds);
+    }
+
+    /**
+     * Slot in [0, size) for a key. Only meaningful for keys the hash was built from.
+     */
+    public int slot(String key) {
+        int n = seeds.length;
+        if (n == 0) return -1;
+        int seed = seeds[hash(key, 0) % n];
+        return seed < 0 ? -seed - 1 : hash(key, seed) % n;
+    }
+
+    public int size() {
+        return seeds.length;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars, non-negative.
+     */
+    static int hash(String key, int seed) {
+        int h = seed ^ 0x811C9DC5;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        return h & 0x7FFFFFFF;
+    }
+
+    /**
+     * Build a hash for distinct keys. Returns the hash and fills slotOf[i] with
+     * the slot of keys[i].
+     */
+    public static PerfectHash build(String[] keys, int[] slotOf) {
+        int n = keys.length;
+        int[] seeds = new int[n];
+        if (n == 0) return new PerfectHash(seeds);
+
+        List<List<Integer>> buckets = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) buckets.add(new ArrayList<>());
+        for (int i = 0; i < n; i++) buckets.get(hash(keys[i], 0) % n).add(i);
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        boolean[] taken = new boolean[n];
+        int next = 0;
+        for (; next < n; next++) {
+            List<Integer> bucket = buckets.get(order[next]);
+            if (bucket.size() <= 1) break;
+
+            int[] slots = new int[bucket.size()];
+            int seed = 1;
+            while (!place(keys, bucket, seed, taken, slots)) {
+                if (++seed == MAX_SEED) {
+                    throw new IllegalArgumentException("No perfect hash found, are the keys distinct?");
+                }
+            }
+            for (int i = 0; i < slots.length; i++) {
+                taken[slots[i]] = true;
+                slotOf[bucket.get(i)] = slots[i];
+            }
+            seeds[order[next]] = seed;
+        }
+
+        // Single-key buckets take the remaining free slots directly
+        int free = 0;
+        for (; next < n; next++) {
+            List<Integer> bucket = buckets.get(order[next]);
+            if (bucket.isEmpty()) break;
+            while (taken[free]) free++;
+            taken[free] = true;
+            slotOf[bucket.get(0)] = free;
+            seeds[order[next]] = -free - 1;
+        }
+        return new PerfectHash(seeds);
+    }
+
+    private static boolean place(String[] keys, List<Integer> bucket, int seed, boolean[] taken, int[] slots) {
+        int n = taken.length;
+        for (int i = 0; i < slots.length; i++) {
+            int slot = hash(keys[bucket.get(i)], seed) % n;
+            if (taken[slot]) return false;
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) return false;
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+}
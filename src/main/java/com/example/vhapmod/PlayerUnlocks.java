@@ -0,0 +1,74 @@
+package com.example.vhapmod;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One player's AP unlocks as a bitset over UnlockRegistry ids.
+ *
+ * Registry ids are unique across skills, talents, expertises and mods, so a
+ * single long[] covers all four categories; a check is one array read and a
+ * mask. Names are only rebuilt when a category is listed (sync, logging, NBT).
+ * Attached to each server player by PlayerUnlocksCapability. Server thread only.
+ */
+public final class PlayerUnlocks {
+
+    private long[] bits = new long[4];
+    private int count = 0;
+
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Returns false if the id was already unlocked.
+     */
+    public boolean add(int id) {
+        int word = id >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(bits.length * 2, word + 1));
+        }
+        long mask = 1L << id;
+        if ((bits[word] & mask) != 0) return false;
+        bits[word] |= mask;
+        count++;
+        return true;
+    }
+
+    /**
+     * Replace this player's unlocks with another's, e.g. when the entity is cloned.
+     */
+    public void copyFrom(PlayerUnlocks other) {
+        bits = other.bits.clone();
+        count = other.count;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Canonical names of the unlocks in one category.
+     */
+    public Set<String> names(UnlockRegistry.Type type) {
+        Set<String> names = new HashSet<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                if (UnlockRegistry.type(id) == type) names.add(UnlockRegistry.name(id));
+                remaining &= remaining - 1;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Copy of the raw bits, e.g. to hand to another thread.
+     */
+    public long[] snapshot() {
+        return bits.clone();
+    }
+}
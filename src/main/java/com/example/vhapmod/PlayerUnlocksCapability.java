@@ -0,0 +1,125 @@
+package com.example.vhapmod;
+
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Locale;
+
+/**
+ * Attaches a PlayerUnlocks to every server player and saves it with the
+ * player's NBT.
+ *
+ * The state lives and dies with the player entity: it is read when the player
+ * data loads at login, written whenever the player is saved, and dropped with
+ * the entity on logout. Unlocks are stored by canonical name, since
+ * UnlockRegistry ids only hold for one run of the server.
+ */
+@Mod.EventBusSubscriber(modid = "apvaulthuntersmod")
+public class PlayerUnlocksCapability {
+
+    public static final Capability<PlayerUnlocks> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+
+    private static final ResourceLocation KEY = new ResourceLocation("apvaulthuntersmod", "unlocks");
+
+    /**
+     * Registered on the mod event bus from the mod constructor.
+     */
+    public static void register(RegisterCapabilitiesEvent event) {
+        event.register(PlayerUnlocks.class);
+    }
+
+    /**
+     * Unlocks for a player, or null before the capability is attached.
+     */
+    public static PlayerUnlocks get(Player player) {
+        return player.getCapability(CAPABILITY).orElse(null);
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof ServerPlayer) {
+            Provider provider = new Provider();
+            event.addCapability(KEY, provider);
+            event.addListener(provider::invalidate);
+        }
+    }
+
+    /**
+     * Carry unlocks over to the new player entity on respawn and on return from the End.
+     */
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        Player original = event.getOriginal();
+        original.reviveCaps();
+        PlayerUnlocks previous = get(original);
+        PlayerUnlocks current = get(event.getPlayer());
+        if (previous != null && current != null) {
+            current.copyFrom(previous);
+        }
+        original.invalidateCaps();
+    }
+
+    // ========== PROVIDER ==========
+
+    private static class Provider implements ICapabilitySerializable<CompoundTag> {
+
+        private final PlayerUnlocks unlocks = new PlayerUnlocks();
+        private final LazyOptional<PlayerUnlocks> optional = LazyOptional.of(() -> unlocks);
+
+        @Override
+        public <T> LazyOptional<T> getCapability(Capability<T> cap, Direction side) {
+            return CAPABILITY.orEmpty(cap, optional);
+        }
+
+        void invalidate() {
+            optional.invalidate();
+        }
+
+        /**
+         * { "skill": ["vhskill:...", ...], "talent": [...], "expertise": [...], "mod": [...] }
+         */
+        @Override
+        public CompoundTag serializeNBT() {
+            CompoundTag tag = new CompoundTag();
+            for (UnlockRegistry.Type type : UnlockRegistry.Type.values()) {
+                ListTag names = new ListTag();
+                for (String name : unlocks.names(type)) {
+                    names.add(StringTag.valueOf(name));
+                }
+                tag.put(key(type), names);
+            }
+            return tag;
+        }
+
+        @Override
+        public void deserializeNBT(CompoundTag tag) {
+            for (UnlockRegistry.Type type : UnlockRegistry.Type.values()) {
+                ListTag names = tag.getList(key(type), Tag.TAG_STRING);
+                for (int i = 0; i < names.size(); i++) {
+                    unlocks.add(UnlockRegistry.id(type, names.getString(i)));
+                }
+            }
+        }
+
+        private static String key(UnlockRegistry.Type type) {
+            return type.name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
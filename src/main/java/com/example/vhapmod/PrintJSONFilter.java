@@ -0,0 +1,232 @@
+package com.example.vhapmod;
+
+/**
+ * Cheap scan of a raw frame that spots PrintJSON item messages between other slots.
+ *
+ * In a big room most inbound traffic is ItemSend/ItemCheat/Hint broadcasts that
+ * neither send to nor come from our slot. This walks the frame's characters once,
+ * only looking at the top-level cmd, type and receiving keys and item.player, and
+ * never builds tokens or strings, so those frames can be dropped before decoding.
+ */
+public final class PrintJSONFilter {
+
+    private PrintJSONFilter() {}
+
+    /**
+     * PrintJSON types that describe an item moving between two slots.
+     */
+    public static boolean isItemMessage(String type) {
+        return "ItemSend".equals(type) || "ItemCheat".equals(type) || "Hint".equals(type);
+    }
+
+    /**
+     * True if an item message neither sends to nor comes from our slot.
+     */
+    public static boolean isIrrelevant(String type, int receiving, int itemPlayer, int ourSlot) {
+        return isItemMessage(type) && receiving >= 0 && receiving != ourSlot && itemPlayer != ourSlot;
+    }
+
+    /**
+     * Number of packets in the frame if every one of them is an item message
+     * that doesn't concern our slot, otherwise 0 (decode the frame normally).
+     */
+    public static int skippablePackets(CharSequence frame, int ourSlot) {
+        try {
+            Scanner scanner = new Scanner(frame);
+            scanner.skipWhitespace();
+
+            if (scanner.peek() == '{') {
+                return scanner.scanPacket(ourSlot) ? 1 : 0;
+            }
+            if (scanner.peek() != '[') return 0;
+
+            scanner.pos++;
+            int count = 0;
+            while (true) {
+                scanner.skipWhitespace();
+                char c = scanner.peek();
+                if (c == ']') break;
+                if (c == ',') {
+                    scanner.pos++;
+                    continue;
+                }
+                if (c != '{' || !scanner.scanPacket(ourSlot)) return 0;
+                count++;
+            }
+            return count;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            // Truncated or odd frame - let the real decoder deal with it
+            return 0;
+        }
+    }
+
+    private static final class Scanner {
+        private final CharSequence s;
+        private int pos = 0;
+
+        Scanner(CharSequence s) {
+            this.s = s;
+        }
+
+        char peek() {
+            return s.charAt(pos);
+        }
+
+        void skipWhitespace() {
+            while (Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        /**
+         * Scan one packet object starting at '{'. Returns true if it can be skipped.
+         */
+        boolean scanPacket(int ourSlot) {
+            boolean printJson = false;
+            int typeStart = -1;
+            int typeEnd = -1;
+            int receiving = -1;
+            int itemPlayer = -1;
+
+            pos++; // {
+            while (true) {
+                skipWhitespace();
+                char c = peek();
+                if (c == '}') {
+                    pos++;
+                    break;
+                }
+                if (c == ',') {
+                    pos++;
+                    continue;
+                }
+
+                int keyStart = pos + 1;
+                skipString();
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                pos++; // :
+                skipWhitespace();
+
+                if (textIs(keyStart, keyEnd, "cmd") && peek() == '"') {
+                    int start = pos + 1;
+                    skipString();
+                    printJson = textIs(start, pos - 1, "PrintJSON");
+                } else if (textIs(keyStart, keyEnd, "type") && peek() == '"') {
+                    typeStart = pos + 1;
+                    skipString();
+                    typeEnd = pos - 1;
+                } else if (textIs(keyStart, keyEnd, "receiving") && isNumberStart(peek())) {
+                    receiving = readInt();
+                } else if (textIs(keyStart, keyEnd, "item") && peek() == '{') {
+                    itemPlayer = scanItemPlayer();
+                } else {
+                    skipValue();
+                }
+            }
+
+            if (!printJson || typeStart < 0) return false;
+            boolean itemMessage = textIs(typeStart, typeEnd, "ItemSend")
+                    || textIs(typeStart, typeEnd, "ItemCheat")
+                    || textIs(typeStart, typeEnd, "Hint");
+            return itemMessage && receiving >= 0 && receiving != ourSlot && itemPlayer != ourSlot;
+        }
+
+        /**
+         * Scan a NetworkItem object for its "player" field. Returns -1 if absent.
+         */
+        int scanItemPlayer() {
+            int player = -1;
+            pos++; // {
+            while (true) {
+                skipWhitespace();
+                char c = peek();
+                if (c == '}') {
+                    pos++;
+                    return player;
+                }
+                if (c == ',') {
+                    pos++;
+                    continue;
+                }
+
+                int keyStart = pos + 1;
+                skipString();
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                pos++; // :
+                skipWhitespace();
+
+                if (textIs(keyStart, keyEnd, "player") && isNumberStart(peek())) {
+                    player = readInt();
+                } else {
+                    skipValue();
+                }
+            }
+        }
+
+        int readInt() {
+            boolean negative = peek() == '-';
+            if (negative) pos++;
+            int value = 0;
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c < '0' || c > '9') break;
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            // Skip any fraction/exponent
+            while (pos < s.length() && "+-.eE0123456789".indexOf(s.charAt(pos)) >= 0) pos++;
+            return negative ? -value : value;
+        }
+
+        void skipValue() {
+            char c = peek();
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = s.charAt(pos);
+                    if (c == '"') {
+                        skipString();
+                        continue;
+                    }
+                    if (c == '{' || c == '[') depth++;
+                    else if (c == '}' || c == ']') depth--;
+                    pos++;
+                } while (depth > 0);
+            } else {
+                // Number, true, false or null
+                while (true) {
+                    c = s.charAt(pos);
+                    if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) break;
+                    pos++;
+                }
+            }
+        }
+
+        /**
+         * Skip a string starting at its opening quote; pos ends just past the closing quote.
+         */
+        void skipString() {
+            if (s.charAt(pos) != '"') throw new IllegalArgumentException("Expected string");
+            pos++;
+            while (true) {
+                char c = s.charAt(pos++);
+                if (c == '\\') pos++;
+                else if (c == '"') return;
+            }
+        }
+
+        boolean textIs(int start, int end, String text) {
+            if (end - start != text.length()) return false;
+            for (int i = 0; i < text.length(); i++) {
+                if (s.charAt(start + i) != text.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        static boolean isNumberStart(char c) {
+            return c == '-' || (c >= '0' && c <= '9');
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.vhapmod;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Receive cursors for every slot this world has been connected to, saved with
+ * the world in data/vhapmod_received_items.dat.
+ *
+ * The cursor has to stay in step with the grants it covers: the unlocks in
+ * player NBT and the items in player inventories. Vanilla writes player data
+ * before level data on every autosave and on shutdown, so keeping the cursor
+ * in SavedData means a saved cursor never runs ahead of saved grants, and a
+ * crash or a backup restore rolls both back together.
+ *
+ * The file is replaced atomically. If it exists but cannot be read, the store
+ * refuses to hand out trackers or to save, so the old file is kept and items
+ * are not delivered again from index 0.
+ */
+public class ReceivedItemStore extends SavedData {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String NAME = "vhapmod_received_items";
+
+    private final Map<String, ReceivedItemTracker> trackers = new HashMap<>();
+    private final boolean unreadable;
+
+    private ReceivedItemStore(boolean unreadable) {
+        this.unreadable = unreadable;
+    }
+
+    /**
+     * The store for a server's world, loaded on first use.
+     */
+    public static ReceivedItemStore get(MinecraftServer server) {
+        Path file = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(NAME + ".dat");
+        return server.overworld().getDataStorage().computeIfAbsent(ReceivedItemStore::load, () -> {
+            // Only reached with an existing file if vanilla failed to read it
+            if (Files.exists(file)) {
+                LOGGER.error("Could not read {}; AP items will not be delivered until it is restored or deleted", file);
+                return new ReceivedItemStore(true);
+            }
+            return new ReceivedItemStore(false);
+        }, NAME);
+    }
+
+    /**
+     * Tracker for a slot, created on first use. Null if the saved file could not be read.
+     */
+    public ReceivedItemTracker get(String seedName, int team, int slot) {
+        if (unreadable) return null;
+
+        String key = seedName + ":" + team + ":" + slot;
+        return trackers.computeIfAbsent(key, k -> {
+            LOGGER.info("Starting received items for {}", k);
+            return new ReceivedItemTracker(k);
+        });
+    }
+
+    // ========== PERSISTENCE ==========
+
+    private static ReceivedItemStore load(CompoundTag tag) {
+        ReceivedItemStore store = new ReceivedItemStore(false);
+        for (String key : tag.getAllKeys()) {
+            ReceivedItemTracker tracker = ReceivedItemTracker.read(key, tag.getCompound(key));
+            store.trackers.put(key, tracker);
+            LOGGER.info("Resuming received items for {} at index {}", key, tracker.getCursor());
+        }
+        return store;
+    }
+
+    /**
+     * { "<seed>:<team>:<slot>": { "cursor": int, "delivered": long[] }, ... }
+     */
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        for (ReceivedItemTracker tracker : trackers.values()) {
+            tag.put(tracker.getKey(), tracker.write());
+        }
+        return tag;
+    }
+
+    @Override
+    public boolean isDirty() {
+        if (unreadable) return false;
+        if (super.isDirty()) return true;
+        for (ReceivedItemTracker tracker : trackers.values()) {
+            if (tracker.isDirty()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Same format as SavedData.save(File), written to a temp file and moved into place.
+     */
+    @Override
+    public void save(File file) {
+        if (!isDirty()) return;
+
+        CompoundTag root = new CompoundTag();
+        root.put("data", save(new CompoundTag()));
+        root.putInt("DataVersion", SharedConstants.getCurrentVersion().getWorldVersion());
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            NbtIo.writeCompressed(root, tmp);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            setDirty(false);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save received items: {}", e.getMessage());
+            tmp.delete();
+            // The trackers were marked clean by save(CompoundTag); retry on the next world save
+            setDirty(true);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.vhapmod;
+
+import net.minecraft.nbt.CompoundTag;
+
+import java.util.BitSet;
+
+/**
+ * Tracks which entries of a slot's ReceivedItems list have been applied,
+ * by their position in that list (ReceivedItems.index + offset).
+ *
+ * Everything below the cursor has been delivered; positions at or above it
+ * that were delivered out of order are kept in a BitSet until the cursor
+ * catches up. Only delivered positions are persisted, so items still queued
+ * when the server stops are handed out again after a restart. Trackers are
+ * kept and saved by ReceivedItemStore.
+ */
+public class ReceivedItemTracker {
+
+    private final String key;
+    private int cursor;
+    private final BitSet delivered;
+    // Accepted but not yet delivered (still in the delivery queue)
+    private final BitSet pending = new BitSet();
+    // One past the highest position seen, used to spot gaps in the stream
+    private int nextExpected;
+    private boolean dirty = false;
+
+    ReceivedItemTracker(String key) {
+        this(key, 0, new BitSet());
+    }
+
+    private ReceivedItemTracker(String key, int cursor, BitSet delivered) {
+        this.key = key;
+        this.cursor = cursor;
+        this.delivered = delivered;
+        this.nextExpected = Math.max(cursor, delivered.length());
+    }
+
+    /**
+     * Claim a position for delivery. Returns false if it was already delivered or queued.
+     */
+    public boolean accept(int position) {
+        if (position < cursor || delivered.get(position) || pending.get(position)) {
+            return false;
+        }
+        pending.set(position);
+        if (position >= nextExpected) {
+            nextExpected = position + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Mark a queued position as delivered and advance the cursor past any contiguous run.
+     */
+    public void complete(int position) {
+        pending.clear(position);
+        if (position < cursor) return;
+
+        delivered.set(position);
+        while (delivered.get(cursor)) {
+            delivered.clear(cursor);
+            cursor++;
+        }
+        dirty = true;
+    }
+
+    /**
+     * Give back a queued position that could not be delivered, so it is
+     * accepted again the next time the server sends it.
+     */
+    public void release(int position) {
+        pending.clear(position);
+    }
+
+    /**
+     * Forget positions that were accepted but never delivered, so they are
+     * accepted again the next time the server sends them.
+     */
+    public void dropPending() {
+        pending.clear();
+        nextExpected = Math.max(cursor, delivered.length());
+    }
+
+    /**
+     * True if a packet starting at this index would leave a hole in the stream.
+     */
+    public boolean isGap(int packetIndex) {
+        return packetIndex > nextExpected;
+    }
+
+    public int getCursor() {
+        return cursor;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // ========== PERSISTENCE ==========
+
+    /**
+     * { "cursor": int, "delivered": long[] }
+     */
+    CompoundTag write() {
+        dirty = false;
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("cursor", cursor);
+        tag.putLongArray("delivered", delivered.toLongArray());
+        return tag;
+    }
+
+    static ReceivedItemTracker read(String key, CompoundTag tag) {
+        return new ReceivedItemTracker(key, tag.getInt("cursor"), BitSet.valueOf(tag.getLongArray("delivered")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.vhapmod;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical ids for every skill, talent, expertise and mod we lock.
+ *
+ * Each canonical name ("vhskill:mega_jump") is interned once to a small dense
+ * int, shared across all four types. Raw names as VH reports them ("Mega Jump")
+ * are resolved through a per-type cache, so after the first sighting a lookup
+ * is one map get on a string whose hash is already cached - no lowercasing,
+ * replacing or prefix concatenation. Ids are only stable for the lifetime of
+ * the process; persist names, not ids.
+ */
+public final class UnlockRegistry {
+
+    public enum Type {
+        SKILL("vhskill:"),
+        TALENT("vhtalent:"),
+        EXPERTISE("vhexpertise:"),
+        MOD("vhmod:");
+
+        private final String prefix;
+
+        Type(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String prefix() {
+            return prefix;
+        }
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private static final Map<String, Integer>[] rawIds = new Map[TYPES.length];
+
+    // Written under the class lock, read without it
+    private static volatile String[] names = new String[256];
+    private static volatile byte[] types = new byte[256];
+    private static volatile int count = 0;
+
+    static {
+        for (int i = 0; i < rawIds.length; i++) {
+            rawIds[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    private UnlockRegistry() {}
+
+    /**
+     * Id for a raw or canonical name of the given type, interning it on first use.
+     */
+    public static int id(Type type, String rawName) {
+        Map<String, Integer> cache = rawIds[type.ordinal()];
+        Integer id = cache.get(rawName);
+        if (id != null) return id;
+
+        id = intern(type, normalize(type, rawName));
+        cache.put(rawName, id);
+        return id;
+    }
+
+    /**
+     * Canonical name for an id.
+     */
+    public static String name(int id) {
+        return names[id];
+    }
+
+    public static Type type(int id) {
+        return TYPES[types[id]];
+    }
+
+    public static int size() {
+        return count;
+    }
+
+    /**
+     * Canonical form of a name: lower case, spaces to underscores, with the
+     * type prefix. Idempotent, so an already prefixed name is left alone
+     * instead of becoming "vhskill:vhskill:...".
+     */
+    public static String normalize(Type type, String rawName) {
+        String name = rawName.toLowerCase(Locale.ROOT).replace(' ', '_');
+        return name.startsWith(type.prefix) ? name : type.prefix + name;
+    }
+
+    private static synchronized int intern(Type type, String canonical) {
+        Integer existing = ids.get(canonical);
+        if (existing != null) return existing;
+
+        int id = count;
+        if (id == names.length) {
+            // Arrays are filled before they are published
+            String[] grownNames = Arrays.copyOf(names, id * 2);
+            byte[] grownTypes = Arrays.copyOf(types, id * 2);
+            grownNames[id] = canonical;
+            grownTypes[id] = (byte) type.ordinal();
+            names = grownNames;
+            types = grownTypes;
+        } else {
+            names[id] = canonical;
+            types[id] = (byte) type.ordinal();
+        }
+        count = id + 1;
+        ids.put(canonical, id);
+        return id;
+    }
+}
@@ -0,0 +1,478 @@
+package com.example.vhapmod;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * The one place that reaches into Vault Hunters by reflection.
+ *
+ * Everything is resolved once. Entry points on the VH data classes, whose types
+ * are known up front, are static final MethodHandles that the JIT can treat as
+ * constants. Methods called on skills, trees and researches, whose concrete
+ * class varies, are Calls: a handle per receiver class, cached in a ClassValue.
+ * All handles are adapted to Object parameters and an Object return, so any
+ * of them can be invoked with invokeExact. When VH is not loaded the handles
+ * are null and every call fails with a ReflectiveOperationException, like the
+ * reflective code it replaces.
+ */
+public final class VHBridge {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // Marks "no such method on this class" in a ClassValue
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    // ========== VH CLASSES ==========
+
+    public static final Class<?> SKILL = findClass("iskallia.vault.skill.base.Skill");
+    public static final Class<?> RESEARCH_TREE = findClass("iskallia.vault.research.ResearchTree");
+    public static final Class<?> EXPERTISE_TREE = findClass("iskallia.vault.skill.expertise.type.ExpertiseTree");
+    public static final Class<?> SKILL_CONTEXT = findClass("iskallia.vault.skill.base.SkillContext");
+
+    private static final Class<?> ABILITIES_DATA_CLASS = findClass("iskallia.vault.world.data.PlayerAbilitiesData");
+    private static final Class<?> TALENTS_DATA_CLASS = findClass("iskallia.vault.world.data.PlayerTalentsData");
+    private static final Class<?> EXPERTISES_DATA_CLASS = findClass("iskallia.vault.world.data.PlayerExpertisesData");
+    private static final Class<?> RESEARCHES_DATA_CLASS = findClass("iskallia.vault.world.data.PlayerResearchesData");
+    private static final Class<?> VAULT_STATS_DATA_CLASS = findClass("iskallia.vault.world.data.PlayerVaultStatsData");
+    private static final Class<?> SOURCE_CLASS = findClass("iskallia.vault.core.event.CommonEvents$Source");
+
+    // ========== DATA ENTRY POINTS ==========
+
+    private static final MethodHandle ABILITIES_DATA = method(ABILITIES_DATA_CLASS, "get", ServerLevel.class);
+    private static final MethodHandle TALENTS_DATA = method(TALENTS_DATA_CLASS, "get", ServerLevel.class);
+    private static final MethodHandle EXPERTISES_DATA = method(EXPERTISES_DATA_CLASS, "get", ServerLevel.class);
+    private static final MethodHandle RESEARCHES_DATA = method(RESEARCHES_DATA_CLASS, "get", ServerLevel.class);
+    private static final MethodHandle VAULT_STATS_DATA = method(VAULT_STATS_DATA_CLASS, "get", ServerLevel.class);
+
+    private static final MethodHandle GET_ABILITIES = method(ABILITIES_DATA_CLASS, "getAbilities", UUID.class);
+    private static final MethodHandle GET_TALENTS = method(TALENTS_DATA_CLASS, "getTalents", UUID.class);
+    private static final MethodHandle GET_EXPERTISES = method(EXPERTISES_DATA_CLASS, "getExpertises", UUID.class);
+    private static final MethodHandle GET_RESEARCHES = method(RESEARCHES_DATA_CLASS, "getResearches", UUID.class);
+    private static final MethodHandle GET_VAULT_STATS = method(VAULT_STATS_DATA_CLASS, "getVaultStats", UUID.class);
+
+    private static final MethodHandle SOURCE_OF = privateMethod(SOURCE_CLASS, "of", Object.class);
+    private static final MethodHandle CONTEXT_FROM_SOURCE = constructor(SKILL_CONTEXT, SOURCE_CLASS);
+    private static final MethodHandle CONTEXT_FROM_PLAYER = constructor(SKILL_CONTEXT, ServerPlayer.class);
+
+    // Not in every VH build; gear grants fall back to plain NBT without it
+    private static final MethodHandle CREATE_GEAR =
+            optionalMethod("iskallia.vault.gear.VaultGearHelper", "createGear", ItemStack.class, int.class);
+
+    // ========== PER-CLASS CALLS ==========
+
+    public static final Call GET_NAME = new Call("getName");
+    public static final Call IS_UNLOCKED = new Call("isUnlocked");
+    public static final Call IS_RESEARCHED = new Call("isResearched");
+    public static final Call IS_LEARNED = new Call("isLearned");
+    public static final Call ITERATE = new Call("iterate", Class.class, Consumer.class);
+    public static final Call RESET = new Call("reset");
+    public static final Call SET_DIRTY = new Call("setDirty");
+    public static final Call LOAD = new Call("load", ServerLevel.class);
+    public static final Call ADD_POINTS = new Call("addPoints", int.class);
+    public static final Call ADD_KNOWLEDGE = new Call("addKnowledge", int.class);
+    public static final Call ADD_SKILL_POINTS = new Call("addSkillPoints", ServerPlayer.class, int.class);
+    public static final Call GET_VAULT_LEVEL = new Call("getVaultLevel");
+    public static final Call GET_RESEARCHES_DONE = new Call("getResearchesDone");
+    public static final Call GET_SPECIALIZATION = new Call("getSpecialization");
+    public static final Call GET_LEARN_POINT_COST = new Call("getLearnPointCost");
+    public static final Call ON_ADD = new Call("onAdd", SKILL_CONTEXT);
+    public static final Call ON_REMOVE = new Call("onRemove", SKILL_CONTEXT);
+    public static final Call ON_TICK = new Call("onTick", SKILL_CONTEXT);
+
+    public static final IntField TIER = new IntField("tier");
+    public static final IntField BONUS_TIER = new IntField("bonusTier");
+
+    // ========== HOOK TARGETS ==========
+
+    // The respec and vault XP mixins are optional (require = 0): their targets
+    // are guesses that have not been checked against a VH jar. These say
+    // whether the guessed method exists; if not, VHProgressionTracker polls
+    // every 5 seconds, and that polling is the real behaviour on that build.
+    public static final boolean HAS_RESPEC_HOOKS = declaresMethod(ABILITIES_DATA_CLASS, "resetAbilityTree")
+            && declaresMethod(TALENTS_DATA_CLASS, "resetTalentTree");
+    public static final boolean HAS_VAULT_EXP_HOOK = declaresAddVaultExp();
+
+    static {
+        if (ABILITIES_DATA != null && TALENTS_DATA != null && GET_ABILITIES != null && GET_TALENTS != null) {
+            LOGGER.info("Resolved VH bridge handles");
+        } else {
+            LOGGER.error("VH bridge is incomplete; skill data will not be readable");
+        }
+        if (!HAS_RESPEC_HOOKS) {
+            LOGGER.warn("Respec hooks have no target in this VH build; skill locks are polled every 5 seconds");
+        }
+        if (!HAS_VAULT_EXP_HOOK) {
+            LOGGER.warn("No addVaultExp to hook in this VH build; vault levels are polled every 5 seconds instead");
+        }
+    }
+
+    private VHBridge() {}
+
+    // ========== DATA ACCESS ==========
+
+    public static Object abilitiesData(ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(ABILITIES_DATA, "PlayerAbilitiesData.get", player.getLevel());
+    }
+
+    public static Object talentsData(ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(TALENTS_DATA, "PlayerTalentsData.get", player.getLevel());
+    }
+
+    public static Object expertisesData(ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(EXPERTISES_DATA, "PlayerExpertisesData.get", player.getLevel());
+    }
+
+    public static Object researchesData(ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(RESEARCHES_DATA, "PlayerResearchesData.get", player.getLevel());
+    }
+
+    public static Object vaultStatsData(ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(VAULT_STATS_DATA, "PlayerVaultStatsData.get", player.getLevel());
+    }
+
+    /**
+     * The player's AbilityTree from a PlayerAbilitiesData.
+     */
+    public static Object abilities(Object data, ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(GET_ABILITIES, "getAbilities", data, player.getUUID());
+    }
+
+    public static Object talents(Object data, ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(GET_TALENTS, "getTalents", data, player.getUUID());
+    }
+
+    public static Object expertises(Object data, ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(GET_EXPERTISES, "getExpertises", data, player.getUUID());
+    }
+
+    public static Object researches(Object data, ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(GET_RESEARCHES, "getResearches", data, player.getUUID());
+    }
+
+    public static Object vaultStats(Object data, ServerPlayer player) throws ReflectiveOperationException {
+        return invoke(GET_VAULT_STATS, "getVaultStats", data, player.getUUID());
+    }
+
+    /**
+     * A SkillContext for the player, via CommonEvents.Source if VH has it,
+     * else the ServerPlayer constructor. Null if neither works.
+     */
+    public static Object skillContext(ServerPlayer player) {
+        if (SOURCE_OF != null && CONTEXT_FROM_SOURCE != null) {
+            try {
+                Object source = invoke(SOURCE_OF, "Source.of", player);
+                return invoke(CONTEXT_FROM_SOURCE, "new SkillContext(Source)", source);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("SkillContext from Source failed: {}", e.getMessage());
+            }
+        }
+        if (CONTEXT_FROM_PLAYER != null) {
+            try {
+                return invoke(CONTEXT_FROM_PLAYER, "new SkillContext(ServerPlayer)", player);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("SkillContext from ServerPlayer failed: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Roll a gear stack's modifiers at a vault level. Returns false if this VH
+     * build has no gear helper.
+     */
+    public static boolean createGear(ItemStack stack, int level) throws ReflectiveOperationException {
+        if (CREATE_GEAR == null) return false;
+        invoke(CREATE_GEAR, "VaultGearHelper.createGear", stack, level);
+        return true;
+    }
+
+    // ========== CALLS ==========
+
+    /**
+     * A public method looked up by name and parameter types on whatever class
+     * the receiver turns out to be.
+     */
+    public static final class Call {
+
+        private final String name;
+        private final Class<?>[] params;
+
+        private final ClassValue<MethodHandle> handles = new ClassValue<>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+
+        private Call(String name, Class<?>... params) {
+            this.name = name;
+            this.params = params;
+        }
+
+        /**
+         * Whether the receiver's class has this method.
+         */
+        public boolean has(Object target) {
+            return handles.get(target.getClass()) != MISSING;
+        }
+
+        public Object invoke(Object target) throws ReflectiveOperationException {
+            try {
+                return handle(target).invokeExact(target);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public Object invoke(Object target, Object arg) throws ReflectiveOperationException {
+            try {
+                return handle(target).invokeExact(target, arg);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public Object invoke(Object target, Object arg1, Object arg2) throws ReflectiveOperationException {
+            try {
+                return handle(target).invokeExact(target, arg1, arg2);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public boolean invokeBoolean(Object target) throws ReflectiveOperationException {
+            return (Boolean) invoke(target);
+        }
+
+        public int invokeInt(Object target) throws ReflectiveOperationException {
+            return (Integer) invoke(target);
+        }
+
+        public String invokeString(Object target) throws ReflectiveOperationException {
+            return (String) invoke(target);
+        }
+
+        private MethodHandle handle(Object target) throws NoSuchMethodException {
+            MethodHandle handle = handles.get(target.getClass());
+            if (handle == MISSING) {
+                throw new NoSuchMethodException(target.getClass().getName() + "." + name);
+            }
+            return handle;
+        }
+
+        private MethodHandle resolve(Class<?> type) {
+            for (Class<?> param : params) {
+                if (param == null) return MISSING; // a VH parameter type that is not loaded
+            }
+            try {
+                Method method = type.getMethod(name, params);
+                return LOOKUP.unreflect(method).asType(MethodType.genericMethodType(params.length + 1));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * An int field found by walking up from the receiver's class, private or not.
+     */
+    public static final class IntField {
+
+        private final String name;
+
+        // [getter, setter] or null if no class in the hierarchy declares the field
+        private final ClassValue<MethodHandle[]> accessors = new ClassValue<>() {
+            @Override
+            protected MethodHandle[] computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+
+        private IntField(String name) {
+            this.name = name;
+        }
+
+        public boolean has(Object target) {
+            return accessors.get(target.getClass()) != null;
+        }
+
+        public int get(Object target) throws ReflectiveOperationException {
+            try {
+                return (int) accessors(target)[0].invokeExact(target);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public void set(Object target, int value) throws ReflectiveOperationException {
+            try {
+                accessors(target)[1].invokeExact(target, value);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        private MethodHandle[] accessors(Object target) throws NoSuchFieldException {
+            MethodHandle[] accessors = this.accessors.get(target.getClass());
+            if (accessors == null) {
+                throw new NoSuchFieldException(target.getClass().getName() + "." + name);
+            }
+            return accessors;
+        }
+
+        private MethodHandle[] resolve(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                try {
+                    Field field = current.getDeclaredField(name);
+                    field.setAccessible(true);
+                    return new MethodHandle[] {
+                            LOOKUP.unreflectGetter(field).asType(MethodType.methodType(int.class, Object.class)),
+                            LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, int.class))
+                    };
+                } catch (NoSuchFieldException e) {
+                    // keep walking up
+                } catch (IllegalAccessException | RuntimeException e) {
+                    LOGGER.warn("Cannot access {}.{}: {}", current.getName(), name, e.getMessage());
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ========== RESOLUTION ==========
+
+    private static Object invoke(MethodHandle handle, String what, Object arg) throws ReflectiveOperationException {
+        if (handle == null) throw new NoSuchMethodException(what + " (Vault Hunters not loaded?)");
+        try {
+            return handle.invokeExact(arg);
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, String what, Object arg1, Object arg2) throws ReflectiveOperationException {
+        if (handle == null) throw new NoSuchMethodException(what + " (Vault Hunters not loaded?)");
+        try {
+            return handle.invokeExact(arg1, arg2);
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static Class<?> findClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            LOGGER.error("Failed to load VH class {}", name);
+            return null;
+        }
+    }
+
+    /**
+     * Handle for a public static or instance method, as (Object...)Object.
+     */
+    private static MethodHandle method(Class<?> owner, String name, Class<?>... params) {
+        if (owner == null) return null;
+        try {
+            Method method = owner.getMethod(name, params);
+            return generic(LOOKUP.unreflect(method));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            LOGGER.error("Failed to resolve {}.{}: {}", owner.getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Like method(), for an API that may be missing: logs at debug instead of error.
+     */
+    private static MethodHandle optionalMethod(String owner, String name, Class<?>... params) {
+        try {
+            return generic(LOOKUP.unreflect(Class.forName(owner).getMethod(name, params)));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            LOGGER.debug("No {}.{} in this VH build", owner, name);
+            return null;
+        }
+    }
+
+    /**
+     * Whether a class itself declares a method by this name, which is what a
+     * mixin injector targeting it by name needs.
+     */
+    private static boolean declaresMethod(Class<?> owner, String name) {
+        if (owner == null) return false;
+        for (Method method : owner.getDeclaredMethods()) {
+            if (method.getName().equals(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether PlayerVaultStatsData has addVaultExp(ServerPlayer, int) in one of
+     * the two shapes PlayerVaultStatsDataMixin injects into.
+     */
+    private static boolean declaresAddVaultExp() {
+        if (VAULT_STATS_DATA_CLASS == null) return false;
+        try {
+            Class<?> returns = VAULT_STATS_DATA_CLASS.getDeclaredMethod("addVaultExp", ServerPlayer.class, int.class).getReturnType();
+            return returns == void.class || returns == VAULT_STATS_DATA_CLASS;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle privateMethod(Class<?> owner, String name, Class<?>... params) {
+        if (owner == null) return null;
+        try {
+            Method method = owner.getDeclaredMethod(name, params);
+            method.setAccessible(true);
+            return generic(LOOKUP.unreflect(method));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            LOGGER.warn("Failed to resolve {}.{}: {}", owner.getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> owner, Class<?> param) {
+        if (owner == null || param == null) return null;
+        try {
+            Constructor<?> constructor = owner.getConstructor(param);
+            return generic(LOOKUP.unreflectConstructor(constructor));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            LOGGER.debug("No {}({}) constructor", owner.getSimpleName(), param.getSimpleName());
+            return null;
+        }
+    }
+
+    private static MethodHandle generic(MethodHandle handle) {
+        return handle.asType(handle.type().generic());
+    }
+}
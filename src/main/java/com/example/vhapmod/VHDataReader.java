@@ -14,50 +14,14 @@ public class VHDataReader {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    // Cached classes for performance
-    private static Class<?> playerAbilitiesDataClass;
-    private static Class<?> playerTalentsDataClass;
-    private static Class<?> playerExpertisesDataClass;
-    private static Class<?> playerResearchesDataClass;
-    private static Class<?> playerVaultStatsDataClass;
-
-    private static Class<?> abilityTreeClass;
-    private static Class<?> talentTreeClass;
-    private static Class<?> researchTreeClass;
-
-    static {
-        try {
-            // Load all the data classes
-            playerAbilitiesDataClass = Class.forName("iskallia.vault.world.data.PlayerAbilitiesData");
-            playerTalentsDataClass = Class.forName("iskallia.vault.world.data.PlayerTalentsData");
-            playerExpertisesDataClass = Class.forName("iskallia.vault.world.data.PlayerExpertisesData");
-            playerResearchesDataClass = Class.forName("iskallia.vault.world.data.PlayerResearchesData");
-            playerVaultStatsDataClass = Class.forName("iskallia.vault.world.data.PlayerVaultStatsData");
-
-            // Load tree classes
-            abilityTreeClass = Class.forName("iskallia.vault.skill.ability.AbilityTree");
-            talentTreeClass = Class.forName("iskallia.vault.skill.talent.TalentTree");
-            researchTreeClass = Class.forName("iskallia.vault.research.ResearchTree");
-
-            LOGGER.info("Successfully loaded all VH data classes!");
-        } catch (ClassNotFoundException e) {
-            LOGGER.error("Failed to load VH classes: " + e.getMessage());
-        }
-    }
-
     /**
      * Get player's vault level
      */
     public static int getPlayerLevel(ServerPlayer player) {
         try {
-            Method getData = playerVaultStatsDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getStats = data.getClass().getMethod("getVaultStats", player.getUUID().getClass());
-            Object stats = getStats.invoke(data, player.getUUID());
-
-            Method getLevel = stats.getClass().getMethod("getVaultLevel");
-            return (int) getLevel.invoke(stats);
+            Object data = VHBridge.vaultStatsData(player);
+            Object stats = VHBridge.vaultStats(data, player);
+            return VHBridge.GET_VAULT_LEVEL.invokeInt(stats);
         } catch (Exception e) {
             LOGGER.debug("Could not get player level: " + e.getMessage());
             return 0;
@@ -70,28 +34,18 @@ public class VHDataReader {
     public static List<String> getUnlockedAbilities(ServerPlayer player) {
         Set<String> unlockedSet = new HashSet<>(); // Use Set to auto-deduplicate
         try {
-            Method getData = playerAbilitiesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getAbilities = data.getClass().getMethod("getAbilities", player.getUUID().getClass());
-            Object abilityTree = getAbilities.invoke(data, player.getUUID());
+            Object data = VHBridge.abilitiesData(player);
+            Object abilityTree = VHBridge.abilities(data, player);
 
             if (abilityTree != null) {
                 // Use iterate method to get all skills
-                Method iterate = abilityTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
                 List<Object> skills = new ArrayList<>();
                 java.util.function.Consumer<Object> collector = skills::add;
-
-                Class<?> skillClass = Class.forName("iskallia.vault.skill.base.Skill");
-                iterate.invoke(abilityTree, skillClass, collector);
+                VHBridge.ITERATE.invoke(abilityTree, VHBridge.SKILL, collector);
 
                 for (Object skill : skills) {
-                    Method isUnlocked = skill.getClass().getMethod("isUnlocked");
-                    boolean unlocked_status = (boolean) isUnlocked.invoke(skill);
-
-                    Method getName = skill.getClass().getMethod("getName");
-                    String name = (String) getName.invoke(skill);
+                    boolean unlocked_status = VHBridge.IS_UNLOCKED.invokeBoolean(skill);
+                    String name = VHBridge.GET_NAME.invokeString(skill);
 
                     // Only track skills with actual names
                     if (name != null && !name.isEmpty() && unlocked_status) {
@@ -123,28 +77,18 @@ public class VHDataReader {
     public static List<String> getUnlockedTalents(ServerPlayer player) {
         Set<String> unlockedSet = new HashSet<>();
         try {
-            Method getData = playerTalentsDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getTalents = data.getClass().getMethod("getTalents", player.getUUID().getClass());
-            Object talentTree = getTalents.invoke(data, player.getUUID());
+            Object data = VHBridge.talentsData(player);
+            Object talentTree = VHBridge.talents(data, player);
 
             if (talentTree != null) {
                 // Use iterate method like we did for abilities
-                Method iterate = talentTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
                 List<Object> skills = new ArrayList<>();
                 java.util.function.Consumer<Object> collector = skills::add;
-
-                Class<?> skillClass = Class.forName("iskallia.vault.skill.base.Skill");
-                iterate.invoke(talentTree, skillClass, collector);
+                VHBridge.ITERATE.invoke(talentTree, VHBridge.SKILL, collector);
 
                 for (Object skill : skills) {
-                    Method isUnlocked = skill.getClass().getMethod("isUnlocked");
-                    boolean unlocked_status = (boolean) isUnlocked.invoke(skill);
-
-                    Method getName = skill.getClass().getMethod("getName");
-                    String name = (String) getName.invoke(skill);
+                    boolean unlocked_status = VHBridge.IS_UNLOCKED.invokeBoolean(skill);
+                    String name = VHBridge.GET_NAME.invokeString(skill);
 
                     if (name != null && !name.isEmpty() && unlocked_status) {
                         // ADD THIS DEBUG LINE:
@@ -165,28 +109,18 @@ public class VHDataReader {
     public static List<String> getUnlockedExpertises(ServerPlayer player) {
         Set<String> unlockedSet = new HashSet<>();
         try {
-            Method getData = playerExpertisesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getExpertises = data.getClass().getMethod("getExpertises", player.getUUID().getClass());
-            Object expertiseTree = getExpertises.invoke(data, player.getUUID());
+            Object data = VHBridge.expertisesData(player);
+            Object expertiseTree = VHBridge.expertises(data, player);
 
             if (expertiseTree != null) {
                 // Use iterate method like we did for abilities and talents
-                Method iterate = expertiseTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
                 List<Object> skills = new ArrayList<>();
                 java.util.function.Consumer<Object> collector = skills::add;
-
-                Class<?> skillClass = Class.forName("iskallia.vault.skill.base.Skill");
-                iterate.invoke(expertiseTree, skillClass, collector);
+                VHBridge.ITERATE.invoke(expertiseTree, VHBridge.SKILL, collector);
 
                 for (Object skill : skills) {
-                    Method isUnlocked = skill.getClass().getMethod("isUnlocked");
-                    boolean unlocked_status = (boolean) isUnlocked.invoke(skill);
-
-                    Method getName = skill.getClass().getMethod("getName");
-                    String name = (String) getName.invoke(skill);
+                    boolean unlocked_status = VHBridge.IS_UNLOCKED.invokeBoolean(skill);
+                    String name = VHBridge.GET_NAME.invokeString(skill);
 
                     if (name != null && !name.isEmpty() && unlocked_status) {
                         // Debug logging to see exact names
@@ -207,15 +141,11 @@ public class VHDataReader {
     public static List<String> getResearchedMods(ServerPlayer player) {
         List<String> researched = new ArrayList<>();
         try {
-            Method getData = playerResearchesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getResearches = data.getClass().getMethod("getResearches", player.getUUID().getClass());
-            Object researchTree = getResearches.invoke(data, player.getUUID());
+            Object data = VHBridge.researchesData(player);
+            Object researchTree = VHBridge.researches(data, player);
 
             if (researchTree != null) {
-                Method getResearchesDone = researchTree.getClass().getMethod("getResearchesDone");
-                Object researchSet = getResearchesDone.invoke(researchTree);
+                Object researchSet = VHBridge.GET_RESEARCHES_DONE.invoke(researchTree);
 
                 if (researchSet instanceof Iterable) {
                     for (Object research : (Iterable<?>) researchSet) {
@@ -227,8 +157,7 @@ public class VHDataReader {
                             researched.add(modName);
                         } else {
                             // It's a Research object, get the name
-                            Method getName = research.getClass().getMethod("getName");
-                            String name = (String) getName.invoke(research);
+                            String name = VHBridge.GET_NAME.invokeString(research);
                             // ADD THIS DEBUG LINE:
                             LOGGER.info("Found researched mod (Object): '{}'", name);
                             researched.add(name);
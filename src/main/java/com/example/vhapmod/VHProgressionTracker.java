@@ -12,13 +12,26 @@ import org.apache.logging.log4j.Logger;
 import java.util.*;
 
 /**
- * Tracks VH progression in real-time by polling player data every few seconds
+ * Tracks VH progression in real-time. Mixins on the VH data and message
+ * classes mark a player's category dirty when it changes, and dirty categories
+ * are re-read and diffed at the end of that tick. Also drives skill-lock
+ * enforcement at the end of each tick.
+ *
+ * The level and respec hooks target VH methods that have not been verified
+ * against a VH jar. Where they miss (see VHBridge.HAS_VAULT_EXP_HOOK and
+ * HAS_RESPEC_HOOKS), this still polls every FALLBACK_SWEEP_INTERVAL ticks.
  */
 @Mod.EventBusSubscriber(modid = "apvaulthuntersmod")
 public class VHProgressionTracker {
 
     private static final Logger LOGGER = LogManager.getLogger();
-    private static final int CHECK_INTERVAL = 100; // Check every 5 seconds (100 ticks)
+    // Progression and locks are handled when data changes; this sweep only catches paths we don't hook
+    private static final int SAFETY_SWEEP_INTERVAL = 6000; // Every 5 minutes
+    // Polling for the respec and vault XP hooks, whose targets are unverified;
+    // on a VH build where they miss, this is the expected path, not a safety net
+    private static final int FALLBACK_SWEEP_INTERVAL = 100; // Every 5 seconds
+    // Categories whose read failed are tried again this often
+    private static final int RETRY_INTERVAL = 20; // Every second
 
     private static int tickCounter = 0;
     private static VaultHuntersManager manager;
@@ -28,6 +41,23 @@ public class VHProgressionTracker {
     // Cache of what each player had last time we checked
     private static final Map<UUID, PlayerProgressionCache> playerCache = new HashMap<>();
 
+    /**
+     * A part of a player's progression that can be re-read on its own
+     */
+    public enum Category {
+        LEVEL, ABILITIES, TALENTS, MODS;
+
+        final int bit = 1 << ordinal();
+    }
+
+    private static final int ALL_CATEGORIES = (1 << Category.values().length) - 1;
+
+    // UUID -> bits of the categories to re-read at the end of this tick
+    private static final Map<UUID, Integer> dirtyPlayers = new LinkedHashMap<>();
+    // UUID -> bits whose read failed, merged back into dirtyPlayers every RETRY_INTERVAL ticks
+    private static final Map<UUID, Integer> retryPlayers = new HashMap<>();
+    private static boolean sweepRequested = false;
+
     /**
      * Set the VaultHuntersManager instance (called from main mod class)
      */
@@ -40,8 +70,33 @@ public class VHProgressionTracker {
         server = event.getServer();
     }
 
+    // ========== DIRTY MARKING ==========
+
+    /**
+     * Re-read one category of this player's progression at the end of the
+     * current tick. Server thread only.
+     */
+    public static void markDirty(ServerPlayer player, Category category) {
+        dirtyPlayers.merge(player.getUUID(), category.bit, (a, b) -> a | b);
+    }
+
     /**
-     * Check all online players every 5 seconds
+     * Re-read all of this player's progression at the end of the current tick
+     */
+    public static void markDirty(ServerPlayer player) {
+        dirtyPlayers.merge(player.getUUID(), ALL_CATEGORIES, (a, b) -> a | b);
+    }
+
+    /**
+     * Re-read every online player's progression at the end of the current tick
+     */
+    public static void markAllDirty() {
+        sweepRequested = true;
+    }
+
+    /**
+     * Diff dirty players' progression, then enforce locks for players whose
+     * skill trees changed this tick
      */
     @SubscribeEvent
     public static void onServerTick(TickEvent.ServerTickEvent event) {
@@ -49,44 +104,85 @@ public class VHProgressionTracker {
         if (manager == null || server == null) return;
 
         tickCounter++;
-        if (tickCounter % CHECK_INTERVAL != 0) return; // Only check every 5 seconds
-
-        // Check all online players
-        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-            // ENFORCE SKILL LOCKS FIRST
-            VHSkillEnforcer.enforceSkillLocks(player);
+        if (tickCounter % SAFETY_SWEEP_INTERVAL == 0) {
+            markAllDirty();
+            VHSkillEnforcer.markAllDirty();
+        } else if (tickCounter % FALLBACK_SWEEP_INTERVAL == 0) {
+            if (!VHBridge.HAS_RESPEC_HOOKS) {
+                VHSkillEnforcer.markAllDirty();
+            }
+            if (!VHBridge.HAS_VAULT_EXP_HOOK) {
+                for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                    markDirty(player, Category.LEVEL);
+                }
+            }
+        }
+        if (tickCounter % RETRY_INTERVAL == 0 && !retryPlayers.isEmpty()) {
+            retryPlayers.forEach((uuid, bits) -> dirtyPlayers.merge(uuid, bits, (a, b) -> a | b));
+            retryPlayers.clear();
+        }
 
-            // Then check for new unlocks
-            checkPlayerProgression(player);
+        if (sweepRequested) {
+            sweepRequested = false;
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                markDirty(player);
+            }
         }
+        if (!dirtyPlayers.isEmpty()) {
+            // A check can mark players again (e.g. via manager callbacks); those wait for the next tick
+            List<Map.Entry<UUID, Integer>> pending = new ArrayList<>(dirtyPlayers.entrySet());
+            dirtyPlayers.clear();
+            for (Map.Entry<UUID, Integer> entry : pending) {
+                ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+                if (player != null) {
+                    checkPlayerProgression(player, entry.getValue());
+                }
+            }
+        }
+
+        VHSkillEnforcer.processDirty(server);
     }
 
     /**
-     * Check a single player's progression and detect new unlocks
+     * Re-read the given categories (bits of Category) of a player's
+     * progression and detect new unlocks
      */
-    private static void checkPlayerProgression(ServerPlayer player) {
+    private static void checkPlayerProgression(ServerPlayer player, int categories) {
         UUID uuid = player.getUUID();
 
-        // Get current progression - wrapped in try-catch to prevent spam
-        int currentLevel = 0;
-        Set<String> currentAbilities = new HashSet<>();
-        Set<String> currentTalents = new HashSet<>();
-        Set<String> currentMods = new HashSet<>();
+        // Get cached progression (what they had last check)
+        PlayerProgressionCache cache = playerCache.get(uuid);
+        if (cache == null) {
+            categories = ALL_CATEGORIES; // Need a full baseline
+        }
+
+        // Categories that did not change keep their cached value
+        int currentLevel = cache != null ? cache.level : 0;
+        Set<String> currentAbilities = cache != null ? cache.abilities : new HashSet<>();
+        Set<String> currentTalents = cache != null ? cache.talents : new HashSet<>();
+        Set<String> currentMods = cache != null ? cache.mods : new HashSet<>();
 
+        // Get current progression - wrapped in try-catch to prevent spam
         try {
-            currentLevel = VHDataReader.getPlayerLevel(player);
-            currentAbilities = new HashSet<>(VHDataReader.getUnlockedAbilities(player));
-            currentTalents = new HashSet<>(VHDataReader.getUnlockedTalents(player));
-            currentMods = new HashSet<>(VHDataReader.getResearchedMods(player));
+            if ((categories & Category.LEVEL.bit) != 0) {
+                currentLevel = VHDataReader.getPlayerLevel(player);
+            }
+            if ((categories & Category.ABILITIES.bit) != 0) {
+                currentAbilities = new HashSet<>(VHDataReader.getUnlockedAbilities(player));
+            }
+            if ((categories & Category.TALENTS.bit) != 0) {
+                currentTalents = new HashSet<>(VHDataReader.getUnlockedTalents(player));
+            }
+            if ((categories & Category.MODS.bit) != 0) {
+                currentMods = new HashSet<>(VHDataReader.getResearchedMods(player));
+            }
         } catch (Exception e) {
-            // Silently skip if VH data not available
-            // This happens in creative mode or non-vault worlds
+            // VH data not available yet (creative mode, non-vault worlds) - keep
+            // the change marked and read it again shortly instead of losing it
+            retryPlayers.merge(uuid, categories, (a, b) -> a | b);
             return;
         }
 
-        // Get cached progression (what they had last check)
-        PlayerProgressionCache cache = playerCache.get(uuid);
-
         if (cache == null) {
             // First time seeing this player - just cache their current state
             cache = new PlayerProgressionCache(currentLevel, currentAbilities, currentTalents, currentMods);
@@ -101,7 +197,7 @@ public class VHProgressionTracker {
         for (String ability : currentAbilities) {
             if (!cache.abilities.contains(ability)) {
                 LOGGER.info("NEW ABILITY UNLOCKED: " + player.getName().getString() + " learned " + ability);
-                String normalizedName = "vhskill:" + ability.toLowerCase().replace(" ", "_");
+                String normalizedName = UnlockRegistry.name(UnlockRegistry.id(UnlockRegistry.Type.SKILL, ability));
                 manager.onSkillUnlocked(player, normalizedName);
                 anyNewUnlock = true;
             }
@@ -111,7 +207,7 @@ public class VHProgressionTracker {
         for (String talent : currentTalents) {
             if (!cache.talents.contains(talent)) {
                 LOGGER.info("NEW TALENT UNLOCKED: " + player.getName().getString() + " learned " + talent);
-                String normalizedName = "vhtalent:" + talent.toLowerCase().replace(" ", "_");
+                String normalizedName = UnlockRegistry.name(UnlockRegistry.id(UnlockRegistry.Type.TALENT, talent));
                 manager.onTalentUnlocked(player, normalizedName);
                 anyNewUnlock = true;
             }
@@ -121,7 +217,7 @@ public class VHProgressionTracker {
         for (String mod : currentMods) {
             if (!cache.mods.contains(mod)) {
                 LOGGER.info("NEW MOD RESEARCHED: " + player.getName().getString() + " researched " + mod);
-                String normalizedName = "vhmod:" + mod.toLowerCase().replace(" ", "_");
+                String normalizedName = UnlockRegistry.name(UnlockRegistry.id(UnlockRegistry.Type.MOD, mod));
                 manager.onModUnlocked(player, normalizedName);
             }
         }
@@ -146,10 +242,10 @@ public class VHProgressionTracker {
             }
         }
 
-        // If any new unlock was detected, immediately enforce locks again
+        // If any new unlock was detected, enforce locks at the end of this tick
         if (anyNewUnlock) {
-            LOGGER.info("New unlock detected, immediately enforcing locks...");
-            VHSkillEnforcer.enforceSkillLocks(player);
+            LOGGER.info("New unlock detected, enforcing locks...");
+            VHSkillEnforcer.markDirty(player);
         }
 
         // Update cache with current state
@@ -164,6 +260,8 @@ public class VHProgressionTracker {
      */
     public static void onPlayerLogout(ServerPlayer player) {
         playerCache.remove(player.getUUID());
+        dirtyPlayers.remove(player.getUUID());
+        retryPlayers.remove(player.getUUID());
         VHSkillEnforcer.clearWarnings(player.getUUID());
         LOGGER.info("Removed progression cache for " + player.getName().getString());
     }
@@ -1,18 +1,22 @@
 package com.example.vhapmod;
 
+import com.example.vhapmod.mixin.TieredSkillAccessor;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.ChatFormatting;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.*;
 
 /**
  * Aggressively removes unauthorized skills by directly manipulating state
+ *
+ * Learning is caught at the level messages. Respecs are only caught by
+ * unverified optional hooks; where those miss, VHProgressionTracker marks
+ * every player every 5 seconds and that poll is what enforces them.
  */
 public class VHSkillEnforcer {
 
@@ -21,19 +25,57 @@ public class VHSkillEnforcer {
     // Track which unauthorized skills we've already warned about
     private static final Map<UUID, Set<String>> warnedSkills = new HashMap<>();
 
-    // VH classes
-    private static Class<?> playerAbilitiesDataClass;
-    private static Class<?> playerTalentsDataClass;
+    // Players whose skill trees may have changed this tick, enforced once at tick end
+    private static final Set<UUID> dirtyPlayers = new LinkedHashSet<>();
+    private static boolean sweepRequested = false;
 
-    static {
-        try {
-            playerAbilitiesDataClass = Class.forName("iskallia.vault.world.data.PlayerAbilitiesData");
-            playerTalentsDataClass = Class.forName("iskallia.vault.world.data.PlayerTalentsData");
-        } catch (ClassNotFoundException e) {
-            LOGGER.error("Failed to load VH classes: " + e.getMessage());
+    // ========== SCHEDULING ==========
+
+    /**
+     * Enforce this player's locks at the end of the current tick. Called from
+     * the points where VH changes a skill tree; repeated calls in one tick
+     * cost a single tree walk. Server thread only.
+     */
+    public static void markDirty(ServerPlayer player) {
+        dirtyPlayers.add(player.getUUID());
+    }
+
+    /**
+     * Enforce every online player's locks at the end of the current tick, for
+     * changes we cannot attribute to one player (respecs, VH commands).
+     */
+    public static void markAllDirty() {
+        sweepRequested = true;
+    }
+
+    /**
+     * Enforce locks for everyone marked since the last call. Run at the end
+     * of each server tick.
+     */
+    public static void processDirty(MinecraftServer server) {
+        if (sweepRequested) {
+            sweepRequested = false;
+            dirtyPlayers.clear();
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                enforceSkillLocks(player);
+            }
+            return;
+        }
+        if (dirtyPlayers.isEmpty()) return;
+
+        // Enforcing can mark players again; those wait for the next tick
+        UUID[] pending = dirtyPlayers.toArray(new UUID[0]);
+        dirtyPlayers.clear();
+        for (UUID uuid : pending) {
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player != null) {
+                enforceSkillLocks(player);
+            }
         }
     }
 
+    // ========== ENFORCEMENT ==========
+
     public static void enforceSkillLocks(ServerPlayer player) {
         try {
             enforceAbilityLocks(player);
@@ -47,11 +89,8 @@ public class VHSkillEnforcer {
 
     private static void enforceAbilityLocks(ServerPlayer player) {
         try {
-            Method getData = playerAbilitiesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getAbilities = data.getClass().getMethod("getAbilities", UUID.class);
-            Object abilityTree = getAbilities.invoke(data, player.getUUID());
+            Object data = VHBridge.abilitiesData(player);
+            Object abilityTree = VHBridge.abilities(data, player);
 
             if (abilityTree == null) return;
 
@@ -64,11 +103,8 @@ public class VHSkillEnforcer {
 
     private static void enforceTalentLocks(ServerPlayer player) {
         try {
-            Method getData = playerTalentsDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getTalents = data.getClass().getMethod("getTalents", UUID.class);
-            Object talentTree = getTalents.invoke(data, player.getUUID());
+            Object data = VHBridge.talentsData(player);
+            Object talentTree = VHBridge.talents(data, player);
 
             if (talentTree == null) return;
 
@@ -78,30 +114,27 @@ public class VHSkillEnforcer {
             if (anyRemoved) {
                 try {
                     // Mark data as dirty
-                    Method setDirty = data.getClass().getMethod("setDirty");
-                    setDirty.invoke(data);
+                    VHBridge.SET_DIRTY.invoke(data);
 
                     // Force VH to reload the player's talent data as if they just logged in
                     // This triggers all the recalculation logic
                     try {
                         // Call load or similar method on the data
-                        Method load = data.getClass().getMethod("load", player.getLevel().getClass());
-                        load.invoke(data, player.getLevel());
+                        VHBridge.LOAD.invoke(data, player.getLevel());
                         LOGGER.info("Called load() to force recalculation");
                     } catch (NoSuchMethodException e) {
                         LOGGER.warn("No load method found");
                     }
 
                     // Try to re-get the talents (forces recalculation)
-                    Object freshTalentTree = getTalents.invoke(data, player.getUUID());
+                    Object freshTalentTree = VHBridge.talents(data, player);
 
                     // Call onTick to force re-evaluation of conditions
                     if (freshTalentTree != null) {
                         Object context = createSkillContext(player);
                         if (context != null) {
                             try {
-                                Method onTick = freshTalentTree.getClass().getMethod("onTick", context.getClass());
-                                onTick.invoke(freshTalentTree, context);
+                                VHBridge.ON_TICK.invoke(freshTalentTree, context);
                                 LOGGER.info("Called onTick after reload");
                             } catch (Exception e) {
                                 LOGGER.warn("onTick failed: " + e.getMessage());
@@ -123,12 +156,8 @@ public class VHSkillEnforcer {
 
     private static void enforceModLocks(ServerPlayer player) {
         try {
-            Class<?> researchDataClass = Class.forName("iskallia.vault.world.data.PlayerResearchesData");
-            Method getData = researchDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getResearches = data.getClass().getMethod("getResearches", UUID.class);
-            Object researchTree = getResearches.invoke(data, player.getUUID());
+            Object data = VHBridge.researchesData(player);
+            Object researchTree = VHBridge.researches(data, player);
 
             if (researchTree == null) return;
 
@@ -141,12 +170,8 @@ public class VHSkillEnforcer {
 
     private static void enforceExpertiseLocks(ServerPlayer player) {
         try {
-            Class<?> expertiseDataClass = Class.forName("iskallia.vault.world.data.PlayerExpertisesData");
-            Method getData = expertiseDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
-
-            Method getExpertises = data.getClass().getMethod("getExpertises", UUID.class);
-            Object expertiseTree = getExpertises.invoke(data, player.getUUID());
+            Object data = VHBridge.expertisesData(player);
+            Object expertiseTree = VHBridge.expertises(data, player);
 
             if (expertiseTree == null) return;
 
@@ -160,30 +185,23 @@ public class VHSkillEnforcer {
     private static boolean checkAndRemoveUnauthorized(Object skillTree, ServerPlayer player, boolean isAbility, Object dataObject) {
         try {
             List<Object> toRemove = new ArrayList<>();
-            Method iterate = skillTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
-            Class<?> skillClass = Class.forName("iskallia.vault.skill.base.Skill");
-            iterate.invoke(skillTree, skillClass, (java.util.function.Consumer<Object>) skill -> {
+            UnlockRegistry.Type type = isAbility ? UnlockRegistry.Type.SKILL : UnlockRegistry.Type.TALENT;
+            VHBridge.ITERATE.invoke(skillTree, VHBridge.SKILL, (java.util.function.Consumer<Object>) skill -> {
                 try {
-                    Method isUnlocked = skill.getClass().getMethod("isUnlocked");
-                    if ((boolean) isUnlocked.invoke(skill)) {
-                        Method getName = skill.getClass().getMethod("getName");
-                        String name = (String) getName.invoke(skill);
+                    if (VHBridge.IS_UNLOCKED.invokeBoolean(skill)) {
+                        String name = VHBridge.GET_NAME.invokeString(skill);
 
                         if (name != null && !name.isEmpty()) {
-                            String normalized = (isAbility ? "vhskill:" : "vhtalent:") + name.toLowerCase().replace(" ", "_");
+                            int unlockId = UnlockRegistry.id(type, name);
 
-                            LOGGER.info("Checking {}: raw='{}' normalized='{}' UUID={}", isAbility ? "skill" : "talent", name, normalized, player.getUUID());
+                            LOGGER.debug("Checking {}: raw='{}' normalized='{}' UUID={}", isAbility ? "skill" : "talent", name, UnlockRegistry.name(unlockId), player.getUUID());
 
-                            // Pass RAW name - APSkillLockManager will normalize it
-                            boolean allowed = isAbility
-                                    ? APSkillLockManager.isSkillUnlockedSilent(player, name)
-                                    : APSkillLockManager.isTalentUnlockedSilent(player, name);
+                            boolean allowed = APSkillLockManager.isUnlockedSilent(player, unlockId);
 
-                            LOGGER.info("Result: allowed={} for UUID={}", allowed, player.getUUID());
+                            LOGGER.debug("Result: allowed={} for UUID={}", allowed, player.getUUID());
 
-                            if (!allowed) {
-                                LOGGER.info("Unlocked talents in storage: {}", APSkillLockManager.getUnlockedTalents(player));
+                            if (!allowed && LOGGER.isDebugEnabled()) {
+                                LOGGER.debug("Unlocked talents in storage: {}", APSkillLockManager.getUnlockedTalents(player));
                             }
 
                             if (!allowed) {
@@ -199,9 +217,8 @@ public class VHSkillEnforcer {
             boolean anyRemoved = false;
 
             for (Object skill : toRemove) {
-                Method getName = skill.getClass().getMethod("getName");
-                String name = (String) getName.invoke(skill);
-                String normalized = (isAbility ? "vhskill:" : "vhtalent:") + name.toLowerCase().replace(" ", "_");
+                String name = VHBridge.GET_NAME.invokeString(skill);
+                String normalized = UnlockRegistry.name(UnlockRegistry.id(type, name));
 
                 if (!warned.contains(normalized)) {
                     LOGGER.warn("Removing unauthorized {} '{}' from {}",
@@ -236,8 +253,7 @@ public class VHSkillEnforcer {
 
                     // Mark data as dirty to save changes
                     try {
-                        Method setDirty = dataObject.getClass().getMethod("setDirty");
-                        setDirty.invoke(dataObject);
+                        VHBridge.SET_DIRTY.invoke(dataObject);
                     } catch (Exception e) {
                         LOGGER.warn("Could not mark data as dirty");
                     }
@@ -256,20 +272,13 @@ public class VHSkillEnforcer {
     private static void checkAndRemoveUnauthorizedMods(Object researchTree, ServerPlayer player, Object dataObject) {
         try {
             List<Object> toRemove = new ArrayList<>();
-            Method iterate = researchTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
-            Class<?> researchClass = Class.forName("iskallia.vault.research.ResearchTree");
-            iterate.invoke(researchTree, researchClass, (java.util.function.Consumer<Object>) research -> {
+            VHBridge.ITERATE.invoke(researchTree, VHBridge.RESEARCH_TREE, (java.util.function.Consumer<Object>) research -> {
                 try {
-                    Method isResearched = research.getClass().getMethod("isResearched");
-                    if ((boolean) isResearched.invoke(research)) {
-                        Method getName = research.getClass().getMethod("getName");
-                        String name = (String) getName.invoke(research);
+                    if (VHBridge.IS_RESEARCHED.invokeBoolean(research)) {
+                        String name = VHBridge.GET_NAME.invokeString(research);
 
                         if (name != null && !name.isEmpty()) {
-                            String normalized = "vhmod:" + name.toLowerCase().replace(" ", "_");
-
-                            if (!APSkillLockManager.isModUnlockedSilent(player, normalized)) {
+                            if (!APSkillLockManager.isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.MOD, name))) {
                                 toRemove.add(research);
                             }
                         }
@@ -281,16 +290,14 @@ public class VHSkillEnforcer {
             Set<String> warned = warnedSkills.computeIfAbsent(playerId, k -> new HashSet<>());
 
             for (Object research : toRemove) {
-                Method getName = research.getClass().getMethod("getName");
-                String name = (String) getName.invoke(research);
-                String normalized = "vhmod:" + name.toLowerCase().replace(" ", "_");
+                String name = VHBridge.GET_NAME.invokeString(research);
+                String normalized = UnlockRegistry.name(UnlockRegistry.id(UnlockRegistry.Type.MOD, name));
 
                 if (!warned.contains(normalized)) {
                     LOGGER.warn("Removing unauthorized mod '{}' from {}", name, player.getName().getString());
 
                     // Reset the research
-                    Method unresearch = research.getClass().getMethod("reset");
-                    unresearch.invoke(research);
+                    VHBridge.RESET.invoke(research);
 
                     player.sendMessage(
                             new TextComponent("[AP] ").withStyle(ChatFormatting.RED)
@@ -299,8 +306,7 @@ public class VHSkillEnforcer {
                     );
 
                     try {
-                        Method setDirty = dataObject.getClass().getMethod("setDirty");
-                        setDirty.invoke(dataObject);
+                        VHBridge.SET_DIRTY.invoke(dataObject);
                     } catch (Exception e) {
                         LOGGER.warn("Could not mark data as dirty");
                     }
@@ -315,20 +321,13 @@ public class VHSkillEnforcer {
     private static void checkAndRemoveUnauthorizedExpertises(Object expertiseTree, ServerPlayer player, Object dataObject) {
         try {
             List<Object> toRemove = new ArrayList<>();
-            Method iterate = expertiseTree.getClass().getMethod("iterate", Class.class, java.util.function.Consumer.class);
-
-            Class<?> expertiseClass = Class.forName("iskallia.vault.skill.expertise.type.ExpertiseTree");
-            iterate.invoke(expertiseTree, expertiseClass, (java.util.function.Consumer<Object>) expertise -> {
+            VHBridge.ITERATE.invoke(expertiseTree, VHBridge.EXPERTISE_TREE, (java.util.function.Consumer<Object>) expertise -> {
                 try {
-                    Method isLearned = expertise.getClass().getMethod("isLearned");
-                    if ((boolean) isLearned.invoke(expertise)) {
-                        Method getName = expertise.getClass().getMethod("getName");
-                        String name = (String) getName.invoke(expertise);
+                    if (VHBridge.IS_LEARNED.invokeBoolean(expertise)) {
+                        String name = VHBridge.GET_NAME.invokeString(expertise);
 
                         if (name != null && !name.isEmpty()) {
-                            String normalized = "vhexpertise:" + name.toLowerCase().replace(" ", "_");
-
-                            if (!APSkillLockManager.isExpertiseUnlockedSilent(player, normalized)) {
+                            if (!APSkillLockManager.isUnlockedSilent(player, UnlockRegistry.id(UnlockRegistry.Type.EXPERTISE, name))) {
                                 toRemove.add(expertise);
                             }
                         }
@@ -340,16 +339,14 @@ public class VHSkillEnforcer {
             Set<String> warned = warnedSkills.computeIfAbsent(playerId, k -> new HashSet<>());
 
             for (Object expertise : toRemove) {
-                Method getName = expertise.getClass().getMethod("getName");
-                String name = (String) getName.invoke(expertise);
-                String normalized = "vhexpertise:" + name.toLowerCase().replace(" ", "_");
+                String name = VHBridge.GET_NAME.invokeString(expertise);
+                String normalized = UnlockRegistry.name(UnlockRegistry.id(UnlockRegistry.Type.EXPERTISE, name));
 
                 if (!warned.contains(normalized)) {
                     LOGGER.warn("Removing unauthorized expertise '{}' from {}", name, player.getName().getString());
 
                     // Reset the expertise
-                    Method unlearn = expertise.getClass().getMethod("reset");
-                    unlearn.invoke(expertise);
+                    VHBridge.RESET.invoke(expertise);
 
                     player.sendMessage(
                             new TextComponent("[AP] ").withStyle(ChatFormatting.RED)
@@ -358,8 +355,7 @@ public class VHSkillEnforcer {
                     );
 
                     try {
-                        Method setDirty = dataObject.getClass().getMethod("setDirty");
-                        setDirty.invoke(dataObject);
+                        VHBridge.SET_DIRTY.invoke(dataObject);
                     } catch (Exception e) {
                         LOGGER.warn("Could not mark data as dirty");
                     }
@@ -377,17 +373,14 @@ public class VHSkillEnforcer {
     private static int getSkillPointCost(Object skill) {
         try {
             // For TieredSkill, we need to get the spent points for all learned tiers
-            Method getSpentLearnPoints = skill.getClass().getMethod("getSpentLearnPoints");
-            return (int) getSpentLearnPoints.invoke(skill);
-        } catch (NoSuchMethodException e) {
-            // Not a TieredSkill, try getLearnPointCost
-            try {
-                Method getLearnPointCost = skill.getClass().getMethod("getLearnPointCost");
-                return (int) getLearnPointCost.invoke(skill);
-            } catch (Exception e2) {
-                LOGGER.warn("Could not get skill cost");
-                return 1; // Default to 1
+            if (skill instanceof TieredSkillAccessor tiered) {
+                return tiered.invokeGetSpentLearnPoints();
             }
+            // Not a TieredSkill, try getLearnPointCost
+            return VHBridge.GET_LEARN_POINT_COST.invokeInt(skill);
+        } catch (NoSuchMethodException e) {
+            LOGGER.warn("Could not get skill cost");
+            return 1; // Default to 1
         } catch (Exception e) {
             LOGGER.warn("Error getting skill cost: " + e.getMessage());
             return 1;
@@ -408,8 +401,7 @@ public class VHSkillEnforcer {
             // Special handling for SpecializedSkill (abilities)
             if (className.contains("SpecializedSkill")) {
                 try {
-                    Method getSpecialization = skill.getClass().getMethod("getSpecialization");
-                    Object specialization = getSpecialization.invoke(skill);
+                    Object specialization = VHBridge.GET_SPECIALIZATION.invoke(skill);
 
                     if (specialization != null) {
                         LOGGER.info("Found specialization: " + specialization.getClass().getSimpleName());
@@ -443,8 +435,7 @@ public class VHSkillEnforcer {
             LOGGER.warn("Attempting simple tier reset as last resort");
             try {
                 if (className.contains("SpecializedSkill")) {
-                    Method getSpecialization = skill.getClass().getMethod("getSpecialization");
-                    Object specialization = getSpecialization.invoke(skill);
+                    Object specialization = VHBridge.GET_SPECIALIZATION.invoke(skill);
                     if (specialization != null) {
                         return resetTieredSkill(specialization);
                     }
@@ -458,48 +449,14 @@ public class VHSkillEnforcer {
     }
 
     /**
-     * Create a SkillContext using multiple fallback methods
+     * Create a SkillContext, or null if VH offers no way to build one
      */
     private static Object createSkillContext(ServerPlayer player) {
-        // Method 1: Try using CommonEvents.Source
-        try {
-            LOGGER.info("Trying Method 1: CommonEvents.Source");
-            Class<?> contextClass = Class.forName("iskallia.vault.skill.base.SkillContext");
-            Class<?> sourceClass = Class.forName("iskallia.vault.core.event.CommonEvents$Source");
-
-            // Try to create Source from player
-            Method of = sourceClass.getDeclaredMethod("of", Object.class);
-            of.setAccessible(true);
-            Object source = of.invoke(null, player);
-
-            // Create SkillContext
-            Object context = contextClass.getConstructor(sourceClass).newInstance(source);
-            LOGGER.info("Created SkillContext successfully with Method 1");
-            return context;
-        } catch (ClassNotFoundException e) {
-            LOGGER.warn("Method 1: CommonEvents$Source class not found");
-        } catch (NoSuchMethodException e) {
-            LOGGER.warn("Method 1: Method 'of' not found on Source class");
-        } catch (Exception e) {
-            LOGGER.warn("Method 1 failed: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-        }
-
-        // Method 2: Try creating SkillContext directly with ServerPlayer
-        try {
-            LOGGER.info("Trying Method 2: Direct ServerPlayer constructor");
-            Class<?> contextClass = Class.forName("iskallia.vault.skill.base.SkillContext");
-            Object context = contextClass.getConstructor(ServerPlayer.class).newInstance(player);
-            LOGGER.info("Created SkillContext with Method 2");
-            return context;
-        } catch (NoSuchMethodException e) {
-            LOGGER.warn("Method 2 failed: No constructor SkillContext(ServerPlayer)");
-        } catch (Exception e) {
-            LOGGER.warn("Method 2 failed: " + e.getClass().getSimpleName());
+        Object context = VHBridge.skillContext(player);
+        if (context == null) {
+            LOGGER.warn("All SkillContext creation methods failed, proceeding without context");
         }
-
-        // Give up
-        LOGGER.warn("All SkillContext creation methods failed, proceeding without context");
-        return null;
+        return context;
     }
 
     /**
@@ -511,8 +468,7 @@ public class VHSkillEnforcer {
             if (context != null) {
                 // STEP 1: Call onRemove BEFORE resetting (while skill is still "unlocked")
                 try {
-                    Method onRemove = skill.getClass().getMethod("onRemove", context.getClass());
-                    onRemove.invoke(skill, context);
+                    VHBridge.ON_REMOVE.invoke(skill, context);
                     LOGGER.info("Called onRemove()");
                 } catch (NoSuchMethodException e) {
                     // onRemove doesn't exist, that's okay
@@ -532,8 +488,7 @@ public class VHSkillEnforcer {
             // STEP 3: Call onAdd if context available
             if (context != null) {
                 try {
-                    Method onAdd = skill.getClass().getMethod("onAdd", context.getClass());
-                    onAdd.invoke(skill, context);
+                    VHBridge.ON_ADD.invoke(skill, context);
                     LOGGER.info("Called onAdd() to clean up");
                 } catch (NoSuchMethodException e) {
                     // onAdd doesn't exist, that's okay
@@ -553,41 +508,27 @@ public class VHSkillEnforcer {
      * Reset a TieredSkill by setting tier and bonusTier to 0
      */
     private static boolean resetTieredSkill(Object skill) {
-        try {
-            Field tierField = null;
-            Field bonusTierField = null;
-
-            // Walk up the class hierarchy to find the fields
-            Class<?> currentClass = skill.getClass();
-            while (currentClass != null && tierField == null) {
-                try {
-                    tierField = currentClass.getDeclaredField("tier");
-                } catch (NoSuchFieldException e) {}
-                currentClass = currentClass.getSuperclass();
-            }
-
-            // Also find bonusTier
-            currentClass = skill.getClass();
-            while (currentClass != null && bonusTierField == null) {
-                try {
-                    bonusTierField = currentClass.getDeclaredField("bonusTier");
-                } catch (NoSuchFieldException e) {}
-                currentClass = currentClass.getSuperclass();
-            }
+        if (skill instanceof TieredSkillAccessor tiered) {
+            int oldTier = tiered.getTier();
+            tiered.setTier(0);
+            tiered.setBonusTier(0);
+            LOGGER.info("Reset tier from " + oldTier + " to 0");
+            return true;
+        }
 
+        // Not a TieredSkill; fall back to any tier fields it declares
+        try {
             boolean success = false;
 
-            if (tierField != null) {
-                tierField.setAccessible(true);
-                int oldTier = tierField.getInt(skill);
-                tierField.setInt(skill, 0);
+            if (VHBridge.TIER.has(skill)) {
+                int oldTier = VHBridge.TIER.get(skill);
+                VHBridge.TIER.set(skill, 0);
                 LOGGER.info("Reset tier from " + oldTier + " to 0");
                 success = true;
             }
 
-            if (bonusTierField != null) {
-                bonusTierField.setAccessible(true);
-                bonusTierField.setInt(skill, 0);
+            if (VHBridge.BONUS_TIER.has(skill)) {
+                VHBridge.BONUS_TIER.set(skill, 0);
                 LOGGER.info("Reset bonusTier to 0");
                 success = true;
             }
@@ -601,12 +542,8 @@ public class VHSkillEnforcer {
 
     private static void refundSkillPoints(ServerPlayer player, int points) {
         try {
-            Class<?> playerVaultStatsClass = Class.forName("iskallia.vault.world.data.PlayerVaultStatsData");
-            Method getData = playerVaultStatsClass.getMethod("get", player.getLevel().getClass());
-            Object statsData = getData.invoke(null, player.getLevel());
-
-            Method addSkillPoints = statsData.getClass().getMethod("addSkillPoints", ServerPlayer.class, int.class);
-            addSkillPoints.invoke(statsData, player, points);
+            Object statsData = VHBridge.vaultStatsData(player);
+            VHBridge.ADD_SKILL_POINTS.invoke(statsData, player, points);
 
             LOGGER.info("Refunded {} skill points to {}", points, player.getName().getString());
             player.sendMessage(
@@ -620,5 +557,6 @@ public class VHSkillEnforcer {
 
     public static void clearWarnings(UUID playerId) {
         warnedSkills.remove(playerId);
+        dirtyPlayers.remove(playerId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.example.vhapmod;
 
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.CommandEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -41,6 +46,13 @@ public class VaultEventHandler {
             // Log their current progression (for testing)
             VHDataReader.logPlayerProgression(player);
 
+            // Unlocks were loaded with the player data; send them for GUI greying
+            APSkillLockManager.syncToClient(player);
+
+            // Catch anything learned while the mod was not enforcing, and set a progression baseline
+            VHSkillEnforcer.markDirty(player);
+            VHProgressionTracker.markDirty(player);
+
             // Check player progression against AP
             checkPlayerProgression(player);
         }
@@ -64,6 +76,62 @@ public class VaultEventHandler {
         }
     }
 
+    /**
+     * Gear can grant bonus skill tiers, so re-check locks when vault gear changes.
+     * Vanilla also fires this for every durability tick on worn gear, which
+     * can't change any skill, so those are ignored
+     */
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        ItemStack from = event.getFrom();
+        ItemStack to = event.getTo();
+        if (event.getEntityLiving() instanceof ServerPlayer player
+                && (isVaultItem(from) || isVaultItem(to))
+                && !sameIgnoringDamage(from, to)) {
+            VHSkillEnforcer.markDirty(player);
+        }
+    }
+
+    /**
+     * VH's admin commands can add or reset skills for any player
+     */
+    @SubscribeEvent
+    public static void onCommand(CommandEvent event) {
+        String command = event.getParseResults().getReader().getString();
+        if (command.startsWith("the_vault") || command.startsWith("/the_vault")) {
+            VHSkillEnforcer.markAllDirty();
+            VHProgressionTracker.markAllDirty();
+        }
+    }
+
+    private static boolean isVaultItem(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        ResourceLocation id = stack.getItem().getRegistryName();
+        return id != null && "the_vault".equals(id.getNamespace());
+    }
+
+    /**
+     * Same item with the same NBT apart from the vanilla Damage tag
+     */
+    private static boolean sameIgnoringDamage(ItemStack from, ItemStack to) {
+        if (!ItemStack.isSameIgnoreDurability(from, to)) return false;
+
+        CompoundTag a = from.getTag();
+        CompoundTag b = to.getTag();
+        if (tagSize(a) != tagSize(b)) return false;
+        if (a == null) return true;
+
+        for (String key : a.getAllKeys()) {
+            if (!"Damage".equals(key) && !a.get(key).equals(b.get(key))) return false;
+        }
+        return true;
+    }
+
+    private static int tagSize(CompoundTag tag) {
+        if (tag == null) return 0;
+        return tag.contains("Damage") ? tag.size() - 1 : tag.size();
+    }
+
     /**
      * Track level changes - for milestone checks
      */
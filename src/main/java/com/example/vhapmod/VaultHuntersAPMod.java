@@ -2,8 +2,10 @@ package com.example.vhapmod;
 
 import com.example.vhapmod.item.ModItems;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -38,6 +40,7 @@ public class VaultHuntersAPMod {
 
         // Setup events
         modEventBus.addListener(this::setup);
+        modEventBus.addListener(PlayerUnlocksCapability::register);
 
         MinecraftForge.EVENT_BUS.register(this);
     }
@@ -49,6 +52,7 @@ public class VaultHuntersAPMod {
 
         VHProgressionTracker.setManager(vhManager);
         vhManager.setAPClient(apClient);
+        VaultHuntersData.getDynamicLocations().setSaveExecutor(save -> apClient.queueSave("dynamic_locations", save));
 
 
 
@@ -64,6 +68,19 @@ public class VaultHuntersAPMod {
         LOGGER.info("Example: /apconnect localhost 25569 Muffin");
     }
 
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        apClient.closeJournal();
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        // AP packets are decoded off-thread and applied here, on the server thread
+        if (event.phase == TickEvent.Phase.END && apClient != null) {
+            apClient.tick();
+        }
+    }
+
     @SubscribeEvent
     public void onRegisterCommands(RegisterCommandsEvent event) {
         LOGGER.info("Registering AP commands...");
@@ -6,12 +6,9 @@ import org.apache.logging.log4j.Logger;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.TextComponent;
-import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Manages Vault Hunters progression tracking and integration with Archipelago.
@@ -28,42 +25,19 @@ public class VaultHuntersManager {
     // AP client reference
     private APWebSocketClient apClient;
 
-    // Track what's been unlocked
-    private final Set<Long> checkedSkills = new HashSet<>();
-    private final Set<Long> checkedTalents = new HashSet<>();
-    private final Set<Long> checkedExpertises = new HashSet<>();
-    private final Set<Long> checkedMods = new HashSet<>();
-    private final Set<Long> checkedMilestones = new HashSet<>();
-    private final Set<Long> checkedLocations = new HashSet<>();
+    // Every checked location (ours and server-confirmed), with per-category counts
+    private final CheckedLocationStore checkedLocations = new CheckedLocationStore();
 
     // Current XP and Loot gamerule states
     private String currentXPRule = "NORMAL";
     private String currentLootRule = "NORMAL";
 
-    // VH Data classes (loaded via reflection)
-    private static Class<?> playerAbilitiesDataClass;
-    private static Class<?> playerTalentsDataClass;
-    private static Class<?> playerExpertisesDataClass;
-    private static Class<?> playerResearchesDataClass;
-
     private final Map<UUID, Integer> playerChestCheckCount = new HashMap<>();
     private int totalChestChecks = 100;
     private static final long CHEST_CHECK_BASE_ID = 50000L;
     private float woodenChestWeight = 0.05f;     // Default 5%
     private float normalChestWeight = 0.10f;     // Default 10%
 
-    static {
-        try {
-            playerAbilitiesDataClass = Class.forName("iskallia.vault.world.data.PlayerAbilitiesData");
-            playerTalentsDataClass = Class.forName("iskallia.vault.world.data.PlayerTalentsData");
-            playerExpertisesDataClass = Class.forName("iskallia.vault.world.data.PlayerExpertisesData");
-            playerResearchesDataClass = Class.forName("iskallia.vault.world.data.PlayerResearchesData");
-            LOGGER.info("Loaded VH data classes for item giving");
-        } catch (ClassNotFoundException e) {
-            LOGGER.error("Failed to load VH classes: " + e.getMessage());
-        }
-    }
-
     /**
      * Set the AP client (called during mod initialization)
      */
@@ -79,8 +53,7 @@ public class VaultHuntersManager {
     public void onSkillUnlocked(ServerPlayer player, String skillName) {
         Long locationId = VaultHuntersData.getSkillLocationId(skillName);
 
-        if (locationId != null && locationId != 0L && !checkedSkills.contains(locationId)) {
-            checkedSkills.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, "Skill: " + skillName);
         }
     }
@@ -93,8 +66,7 @@ public class VaultHuntersManager {
 
         LOGGER.info("Looking up location ID for talent: '{}' -> {}", talentName, locationId);
 
-        if (locationId != null && locationId != 0L && !checkedTalents.contains(locationId)) {
-            checkedTalents.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, "Talent: " + talentName);
         }
     }
@@ -107,8 +79,7 @@ public class VaultHuntersManager {
 
         LOGGER.info("Looking up location ID for expertise: '{}' -> {}", expertiseName, locationId);
 
-        if (locationId != null && locationId != 0L && !checkedExpertises.contains(locationId)) {
-            checkedExpertises.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, "Expertise: " + expertiseName);
         }
     }
@@ -121,8 +92,7 @@ public class VaultHuntersManager {
 
         LOGGER.info("Looking up location ID for mod: '{}' -> {}", modName, locationId);
 
-        if (locationId != null && locationId != 0L && !checkedMods.contains(locationId)) {
-            checkedMods.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, "Mod: " + modName);
         }
     }
@@ -134,8 +104,7 @@ public class VaultHuntersManager {
         String milestoneName = "vhmilestone:level_" + level;
         Long locationId = VaultHuntersData.getMilestoneLocationId(milestoneName);
 
-        if (locationId != null && locationId != 0L && !checkedMilestones.contains(locationId)) {
-            checkedMilestones.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, "Level " + level);
         }
     }
@@ -159,8 +128,7 @@ public class VaultHuntersManager {
     private void checkMilestone(ServerPlayer player, String milestoneName, String displayName) {
         Long locationId = VaultHuntersData.getMilestoneLocationId(milestoneName);
 
-        if (locationId != null && locationId != 0L && !checkedMilestones.contains(locationId)) {
-            checkedMilestones.add(locationId);
+        if (locationId != null && locationId != 0L && !checkedLocations.contains(locationId)) {
             sendLocationCheck(locationId, player, displayName);
         }
     }
@@ -205,6 +173,16 @@ public class VaultHuntersManager {
             return 0;
         }
 
+        // Skip chest checks the server already has (e.g. counter reset by a restart)
+        while (collectedCount < totalChestChecks
+                && checkedLocations.contains(CHEST_CHECK_BASE_ID + collectedCount + 1)) {
+            collectedCount++;
+        }
+        if (collectedCount >= totalChestChecks) {
+            playerChestCheckCount.put(playerId, collectedCount);
+            return 0;
+        }
+
         long nextCheckId = CHEST_CHECK_BASE_ID + collectedCount + 1;
         playerChestCheckCount.put(playerId, collectedCount + 1);
 
@@ -244,16 +222,23 @@ public class VaultHuntersManager {
     // ==================== ARCHIPELAGO COMMUNICATION ====================
 
     /**
-     * Send a location check to the Archipelago server
+     * Send a location check to the Archipelago server.
+     * Every check goes through here so the client can dedupe and batch them.
      */
-    private void sendLocationCheck(long locationId, ServerPlayer player, String displayName) {
+    public void sendLocationCheck(long locationId, ServerPlayer player, String displayName) {
+        // Already checked here or confirmed by the server - nothing to send
+        if (!checkedLocations.add(locationId)) {
+            LOGGER.debug("Location {} ({}) already checked, not sending", locationId, displayName);
+            return;
+        }
+
         LOGGER.info("Player {} checked location: {} (ID: {})", player.getName().getString(), displayName, locationId);
 
-        // Send to AP via APWebSocketClient
-        if (apClient != null && apClient.isConnected()) {
+        // Send to AP via APWebSocketClient (queued there while disconnected)
+        if (apClient != null) {
             apClient.sendLocationCheck(locationId);
         } else {
-            LOGGER.warn("AP client not connected - cannot send location check");
+            LOGGER.warn("AP client not initialized - cannot send location check");
         }
     }
 
@@ -262,11 +247,27 @@ public class VaultHuntersManager {
     }
 
     /**
-     * Mark a location as checked
+     * Mark a location as checked. Returns false if it already was.
      */
-    public void markLocationChecked(long locationId) {
-        checkedLocations.add(locationId);
+    public boolean markLocationChecked(long locationId) {
+        if (!checkedLocations.add(locationId)) return false;
         LOGGER.info("Marked location {} as checked", locationId);
+        return true;
+    }
+
+    /**
+     * Load the server's authoritative checked set (Connected / RoomUpdate checked_locations).
+     * Later unlocks of these locations are not sent again.
+     */
+    public void applyServerCheckedLocations(long[] locationIds) {
+        int added = 0;
+        for (long locationId : locationIds) {
+            if (checkedLocations.add(locationId)) added++;
+        }
+
+        if (added > 0) {
+            LOGGER.info("Server reports {} location(s) already checked", added);
+        }
     }
 
     /**
@@ -310,20 +311,16 @@ public class VaultHuntersManager {
         LOGGER.info("Giving skill point to {}", player.getName().getString());
         try {
             // Get PlayerAbilitiesData
-            Method getData = playerAbilitiesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
+            Object data = VHBridge.abilitiesData(player);
 
             // Get the player's ability tree
-            Method getAbilities = data.getClass().getMethod("getAbilities", player.getUUID().getClass());
-            Object abilityTree = getAbilities.invoke(data, player.getUUID());
+            Object abilityTree = VHBridge.abilities(data, player);
 
             // Add skill points
-            Method addPoints = abilityTree.getClass().getMethod("addPoints", int.class);
-            addPoints.invoke(abilityTree, 1);
+            VHBridge.ADD_POINTS.invoke(abilityTree, 1);
 
             // Mark as dirty to save
-            Method setDirty = data.getClass().getMethod("setDirty");
-            setDirty.invoke(data);
+            VHBridge.SET_DIRTY.invoke(data);
 
             LOGGER.info("Successfully gave 1 skill point to {}", player.getName().getString());
         } catch (Exception e) {
@@ -338,20 +335,16 @@ public class VaultHuntersManager {
         LOGGER.info("Giving expertise point to {}", player.getName().getString());
         try {
             // Get PlayerExpertisesData
-            Method getData = playerExpertisesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
+            Object data = VHBridge.expertisesData(player);
 
             // Get the player's expertise tree
-            Method getExpertises = data.getClass().getMethod("getExpertises", player.getUUID().getClass());
-            Object expertiseTree = getExpertises.invoke(data, player.getUUID());
+            Object expertiseTree = VHBridge.expertises(data, player);
 
             // Add expertise points
-            Method addPoints = expertiseTree.getClass().getMethod("addPoints", int.class);
-            addPoints.invoke(expertiseTree, 1);
+            VHBridge.ADD_POINTS.invoke(expertiseTree, 1);
 
             // Mark as dirty to save
-            Method setDirty = data.getClass().getMethod("setDirty");
-            setDirty.invoke(data);
+            VHBridge.SET_DIRTY.invoke(data);
 
             LOGGER.info("Successfully gave 1 expertise point to {}", player.getName().getString());
         } catch (Exception e) {
@@ -366,20 +359,16 @@ public class VaultHuntersManager {
         LOGGER.info("Giving knowledge star to {}", player.getName().getString());
         try {
             // Get PlayerResearchesData
-            Method getData = playerResearchesDataClass.getMethod("get", player.getLevel().getClass());
-            Object data = getData.invoke(null, player.getLevel());
+            Object data = VHBridge.researchesData(player);
 
             // Get the player's research tree
-            Method getResearches = data.getClass().getMethod("getResearches", player.getUUID().getClass());
-            Object researchTree = getResearches.invoke(data, player.getUUID());
+            Object researchTree = VHBridge.researches(data, player);
 
             // Add knowledge (stars)
-            Method addKnowledge = researchTree.getClass().getMethod("addKnowledge", int.class);
-            addKnowledge.invoke(researchTree, 1); // 1 knowledge star
+            VHBridge.ADD_KNOWLEDGE.invoke(researchTree, 1); // 1 knowledge star
 
             // Mark as dirty to save
-            Method setDirty = data.getClass().getMethod("setDirty");
-            setDirty.invoke(data);
+            VHBridge.SET_DIRTY.invoke(data);
 
             LOGGER.info("Successfully gave 1 knowledge star to {}", player.getName().getString());
         } catch (Exception e) {
@@ -415,22 +404,32 @@ public class VaultHuntersManager {
      * Check if a location has been checked
      */
     public boolean hasCheckedLocation(long locationId) {
-        return checkedSkills.contains(locationId)
-                || checkedTalents.contains(locationId)
-                || checkedExpertises.contains(locationId)
-                || checkedMods.contains(locationId)
-                || checkedMilestones.contains(locationId);
+        return checkedLocations.contains(locationId);
     }
 
     /**
      * Get total number of locations checked
      */
     public int getTotalChecked() {
-        return checkedSkills.size()
-                + checkedTalents.size()
-                + checkedExpertises.size()
-                + checkedMods.size()
-                + checkedMilestones.size();
+        return checkedLocations.count(CheckedLocationStore.Category.SKILL)
+                + checkedLocations.count(CheckedLocationStore.Category.TALENT)
+                + checkedLocations.count(CheckedLocationStore.Category.EXPERTISE)
+                + checkedLocations.count(CheckedLocationStore.Category.MOD)
+                + checkedLocations.count(CheckedLocationStore.Category.MILESTONE);
+    }
+
+    /**
+     * Number of checked locations in one category
+     */
+    public int getCheckedCount(CheckedLocationStore.Category category) {
+        return checkedLocations.count(category);
+    }
+
+    /**
+     * Copy of the checked set, safe to save off-thread
+     */
+    public CheckedLocationStore getCheckedSnapshot() {
+        return checkedLocations.snapshot();
     }
 
     public void onQuestCompleted(ServerPlayer player, String questLocationName) {
@@ -459,10 +458,11 @@ public class VaultHuntersManager {
     }
 
     // In VaultHuntersManager.java - NO private maps needed!
+    // Each unlock returns false if nothing was granted, so the item stays pending
 
-    public void unlockSkill(ServerPlayer player, String skillName) {
+    public boolean unlockSkill(ServerPlayer player, String skillName) {
         // APSkillLockManager already has the storage
-        APSkillLockManager.unlockSkill(player, skillName);
+        if (!APSkillLockManager.unlockSkill(player, skillName)) return false;
         APSkillLockManager.syncToClient(player);
 
         player.sendMessage(
@@ -472,13 +472,14 @@ public class VaultHuntersManager {
                 player.getUUID()
         );
         LOGGER.info("Unlocked skill {} for player {}", skillName, player.getName().getString());
+        return true;
     }
 
-    public void unlockTalent(ServerPlayer player, String talentName) {
+    public boolean unlockTalent(ServerPlayer player, String talentName) {
         LOGGER.info("=== unlockTalent() CALLED ===");
         LOGGER.info("Player: {}", player.getName().getString());
         LOGGER.info("Talent: {}", talentName);
-        APSkillLockManager.unlockTalent(player, talentName);
+        if (!APSkillLockManager.unlockTalent(player, talentName)) return false;
         APSkillLockManager.syncToClient(player);
 
         player.sendMessage(
@@ -488,10 +489,11 @@ public class VaultHuntersManager {
                 player.getUUID()
         );
         LOGGER.info("Unlocked talent {} for player {}", talentName, player.getName().getString());
+        return true;
     }
 
-    public void unlockMod(ServerPlayer player, String modName) {
-        APSkillLockManager.unlockMod(player, modName);
+    public boolean unlockMod(ServerPlayer player, String modName) {
+        if (!APSkillLockManager.unlockMod(player, modName)) return false;
         APSkillLockManager.syncToClient(player);
 
         player.sendMessage(
@@ -501,10 +503,11 @@ public class VaultHuntersManager {
                 player.getUUID()
         );
         LOGGER.info("Unlocked mod {} for player {}", modName, player.getName().getString());
+        return true;
     }
 
-    public void unlockExpertise(ServerPlayer player, String expertiseName) {
-        APSkillLockManager.unlockExpertise(player, expertiseName);
+    public boolean unlockExpertise(ServerPlayer player, String expertiseName) {
+        if (!APSkillLockManager.unlockExpertise(player, expertiseName)) return false;
         APSkillLockManager.syncToClient(player);
 
         player.sendMessage(
@@ -514,5 +517,6 @@ public class VaultHuntersManager {
                 player.getUUID()
         );
         LOGGER.info("Unlocked expertise {} for player {}", expertiseName, player.getName().getString());
+        return true;
     }
 }
\ No newline at end of file
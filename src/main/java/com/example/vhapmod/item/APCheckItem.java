@@ -88,9 +88,12 @@ public class APCheckItem extends Item {
         }
 
         var client = VaultHuntersAPMod.getAPClient();
+        var manager = VaultHuntersAPMod.getManager();
 
-        if (client != null && client.isConnected()) {
-            client.sendLocationCheck(locationId);
+        int checkNumber = (int)(locationId - 44000 + 1);
+        if (manager != null) {
+            // Journaled and batched by the client; while offline it goes out on reconnect
+            manager.sendLocationCheck(locationId, player, "Check #" + checkNumber);
 
             player.level.playSound(
                     null,
@@ -103,17 +106,23 @@ public class APCheckItem extends Item {
                     1.5F
             );
 
-            int checkNumber = (int)(locationId - 44000 + 1);
-            player.sendMessage(
-                    new TextComponent("✓ Archipelago Check #" + checkNumber)
-                            .withStyle(ChatFormatting.GOLD),
-                    player.getUUID()
-            );
+            if (client != null && client.isConnected()) {
+                player.sendMessage(
+                        new TextComponent("✓ Archipelago Check #" + checkNumber)
+                                .withStyle(ChatFormatting.GOLD),
+                        player.getUUID()
+                );
+            } else {
+                player.sendMessage(
+                        new TextComponent("✓ Check #" + checkNumber + " (queued until reconnect)")
+                                .withStyle(ChatFormatting.YELLOW),
+                        player.getUUID()
+                );
+            }
         } else {
-            int checkNumber = (int)(locationId - 44000 + 1);
             player.sendMessage(
-                    new TextComponent("✓ Check #" + checkNumber + " (not connected)")
-                            .withStyle(ChatFormatting.YELLOW),
+                    new TextComponent("⚠ Check #" + checkNumber + " not recorded (AP not initialized)")
+                            .withStyle(ChatFormatting.RED),
                     player.getUUID()
             );
         }
@@ -0,0 +1,14 @@
+package com.example.vhapmod.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Typed access to AbilityLevelMessage.abilityName, for AbilityLevelMessageMixin.
+ */
+@Mixin(targets = "iskallia.vault.network.message.AbilityLevelMessage", remap = false)
+public interface AbilityLevelMessageAccessor {
+
+    @Accessor(value = "abilityName", remap = false)
+    String getAbilityName();
+}
@@ -0,0 +1,14 @@
+package com.example.vhapmod.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Typed access to ExpertiseLevelMessage.expertiseName, for ExpertiseLevelMessageMixin.
+ */
+@Mixin(targets = "iskallia.vault.network.message.ExpertiseLevelMessage", remap = false)
+public interface ExpertiseLevelMessageAccessor {
+
+    @Accessor(value = "expertiseName", remap = false)
+    String getExpertiseName();
+}
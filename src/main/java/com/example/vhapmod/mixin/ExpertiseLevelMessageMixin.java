@@ -1,6 +1,8 @@
 package com.example.vhapmod.mixin;
 
 import com.example.vhapmod.APSkillLockManager;
+import com.example.vhapmod.UnlockRegistry;
+import com.example.vhapmod.VHSkillEnforcer;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.TextComponent;
@@ -24,31 +26,31 @@ public class ExpertiseLevelMessageMixin {
         remap = false
     )
     private static void preventExpertiseUpgrade(iskallia.vault.network.message.ExpertiseLevelMessage message, ServerPlayer player, CallbackInfo ci) {
-        LOGGER.info("=== EXPERTISE UPGRADE ATTEMPT ===");
+        String expertiseName = ((ExpertiseLevelMessageAccessor) (Object) message).getExpertiseName();
+
+        int expertiseId = UnlockRegistry.id(UnlockRegistry.Type.EXPERTISE, expertiseName);
         
-        // Access the expertiseName field via reflection
-        try {
-            java.lang.reflect.Field field = message.getClass().getDeclaredField("expertiseName");
-            field.setAccessible(true);
-            String expertiseName = (String) field.get(message);
-            
-            LOGGER.info("Expertise: {}", expertiseName);
-            LOGGER.info("Player: {}", player.getName().getString());
+        if (!APSkillLockManager.isUnlockedSilent(player, expertiseId)) {
+            LOGGER.debug("Blocked expertise upgrade of {} for {}", expertiseName, player.getName().getString());
             
-            String normalizedName = "vhexpertise:" + expertiseName.toLowerCase().replace(" ", "_");
+            MutableComponent msg = new TextComponent("[AP] ")
+                .withStyle(ChatFormatting.RED)
+                .append(new TextComponent(expertiseName + " is locked! You need to receive it from Archipelago first."));
             
-            if (!APSkillLockManager.isExpertiseUnlockedSilent(player, normalizedName)) {
-                LOGGER.warn("BLOCKING expertise upgrade!");
-                
-                MutableComponent msg = new TextComponent("[AP] ")
-                    .withStyle(ChatFormatting.RED)
-                    .append(new TextComponent(expertiseName + " is locked! You need to receive it from Archipelago first."));
-                
-                player.sendMessage(msg, player.getUUID());
-                ci.cancel();
-            }
-        } catch (Exception e) {
-            LOGGER.error("Failed to get expertise name from message", e);
+            player.sendMessage(msg, player.getUUID());
+            ci.cancel();
         }
     }
+
+    /**
+     * The upgrade went through; check the tree at the end of the tick
+     */
+    @Inject(
+        method = "upgradeExpertise",
+        at = @At("TAIL"),
+        remap = false
+    )
+    private static void afterExpertiseUpgrade(iskallia.vault.network.message.ExpertiseLevelMessage message, ServerPlayer player, CallbackInfo ci) {
+        VHSkillEnforcer.markDirty(player);
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.vhapmod.mixin;
 
 import com.example.vhapmod.APSkillLockManager;
+import com.example.vhapmod.UnlockRegistry;
 import iskallia.vault.research.type.Research;
 import iskallia.vault.research.ResearchTree;
 import iskallia.vault.world.data.PlayerResearchesData;
@@ -27,25 +28,18 @@ public class ModResearchPreventionMixin {
             remap = false
     )
     private void preventModResearch(ServerPlayer player, Research research, boolean sendMessage, CallbackInfoReturnable<PlayerResearchesData> cir) {
-        LOGGER.info("=== MOD RESEARCH MIXIN FIRED ===");
-        LOGGER.info("Player: {}", player.getName().getString());
-        LOGGER.info("Mod: {}", research.getName());
-
-        String normalizedName = "vhmod:" + research.getName().toLowerCase().replace(" ", "_");
-        LOGGER.info("Normalized: {}", normalizedName);
-
-        boolean isUnlocked = APSkillLockManager.isModUnlockedSilent(player, normalizedName);
-        LOGGER.info("Is unlocked in AP: {}", isUnlocked);
+        int modId = UnlockRegistry.id(UnlockRegistry.Type.MOD, research.getName());
+        boolean isUnlocked = APSkillLockManager.isUnlockedSilent(player, modId);
 
         if (!isUnlocked) {
-            LOGGER.warn("BLOCKING mod research!");
+            LOGGER.debug("Blocked research of {} for {}", research.getName(), player.getName().getString());
 
             // Get the actual research cost to refund
             PlayerResearchesData researchesData = PlayerResearchesData.get(player.getLevel());
             ResearchTree researchTree = researchesData.getResearches(player);
             int researchCost = researchTree.getResearchCost(research);
 
-            LOGGER.info("Refunding {} knowledge points", researchCost);
+            LOGGER.debug("Refunding {} knowledge points", researchCost);
 
             // Refund the actual knowledge point cost
             net.minecraft.server.level.ServerLevel level = player.getLevel();
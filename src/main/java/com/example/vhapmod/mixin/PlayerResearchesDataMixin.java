@@ -0,0 +1,30 @@
+package com.example.vhapmod.mixin;
+
+import com.example.vhapmod.VHProgressionTracker;
+import iskallia.vault.research.type.Research;
+import iskallia.vault.world.data.PlayerResearchesData;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Reports completed research so mod checks go out the tick it happens.
+ *
+ * Same target as ModResearchPreventionMixin, whose descriptor the mod has
+ * always required, so this one is required too. A research cancelled there
+ * at HEAD never reaches RETURN.
+ */
+@Mixin(targets = "iskallia.vault.world.data.PlayerResearchesData", remap = false)
+public class PlayerResearchesDataMixin {
+
+    @Inject(
+            method = "research(Lnet/minecraft/server/level/ServerPlayer;Liskallia/vault/research/type/Research;Z)Liskallia/vault/world/data/PlayerResearchesData;",
+            at = @At("RETURN"),
+            remap = false
+    )
+    private void afterResearch(ServerPlayer player, Research research, boolean sendMessage, CallbackInfoReturnable<PlayerResearchesData> cir) {
+        VHProgressionTracker.markDirty(player, VHProgressionTracker.Category.MODS);
+    }
+}
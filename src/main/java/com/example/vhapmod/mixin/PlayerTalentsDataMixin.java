@@ -0,0 +1,33 @@
+package com.example.vhapmod.mixin;
+
+import com.example.vhapmod.VHProgressionTracker;
+import com.example.vhapmod.VHSkillEnforcer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Hooks on PlayerTalentsData that change a player's talent tree outside the level messages.
+ */
+@Mixin(targets = "iskallia.vault.world.data.PlayerTalentsData", remap = false)
+public class PlayerTalentsDataMixin {
+
+    /**
+     * A respec rebuilds the tree. resetTalentTree is a guessed name that has not been
+     * checked against a VH jar, so this is optional. Until it is confirmed,
+     * expect it to miss: VHBridge.HAS_RESPEC_HOOKS is then false and
+     * VHProgressionTracker re-checks every player's locks every 5 seconds,
+     * which is how respecs are actually caught on such builds.
+     */
+    @Inject(
+            method = "resetTalentTree",
+            at = @At("RETURN"),
+            require = 0,
+            remap = false
+    )
+    private void afterRespec(CallbackInfo ci) {
+        VHSkillEnforcer.markAllDirty();
+        VHProgressionTracker.markAllDirty();
+    }
+}
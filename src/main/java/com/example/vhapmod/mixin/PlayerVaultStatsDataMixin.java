@@ -0,0 +1,43 @@
+package com.example.vhapmod.mixin;
+
+import com.example.vhapmod.VHProgressionTracker;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Reports vault XP gains so level milestones go out the tick they are reached.
+ *
+ * Neither descriptor has been checked against a VH jar: addVaultExp is
+ * thought to be void in some versions and to return the data object in
+ * others, so both are optional. VHBridge.HAS_VAULT_EXP_HOOK tells whether one
+ * matched. On a build where neither does, levels are still polled every 5
+ * seconds by VHProgressionTracker; that is the real behaviour there, not a
+ * rare fallback.
+ */
+@Mixin(targets = "iskallia.vault.world.data.PlayerVaultStatsData", remap = false)
+public class PlayerVaultStatsDataMixin {
+
+    @Inject(
+            method = "addVaultExp(Lnet/minecraft/server/level/ServerPlayer;I)Liskallia/vault/world/data/PlayerVaultStatsData;",
+            at = @At("RETURN"),
+            require = 0,
+            remap = false
+    )
+    private void afterAddVaultExp(ServerPlayer player, int exp, CallbackInfoReturnable<Object> cir) {
+        VHProgressionTracker.markDirty(player, VHProgressionTracker.Category.LEVEL);
+    }
+
+    @Inject(
+            method = "addVaultExp(Lnet/minecraft/server/level/ServerPlayer;I)V",
+            at = @At("RETURN"),
+            require = 0,
+            remap = false
+    )
+    private void afterAddVaultExpVoid(ServerPlayer player, int exp, CallbackInfo ci) {
+        VHProgressionTracker.markDirty(player, VHProgressionTracker.Category.LEVEL);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.vhapmod.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Typed access to TalentLevelMessage.talentName, for TalentLevelMessageMixin.
+ */
+@Mixin(targets = "iskallia.vault.network.message.TalentLevelMessage", remap = false)
+public interface TalentLevelMessageAccessor {
+
+    @Accessor(value = "talentName", remap = false)
+    String getTalentName();
+}
@@ -1,6 +1,9 @@
 package com.example.vhapmod.mixin;
 
 import com.example.vhapmod.APSkillLockManager;
+import com.example.vhapmod.UnlockRegistry;
+import com.example.vhapmod.VHProgressionTracker;
+import com.example.vhapmod.VHSkillEnforcer;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.TextComponent;
@@ -24,32 +27,32 @@ public class TalentLevelMessageMixin {
         remap = false
     )
     private static void preventTalentUpgrade(iskallia.vault.network.message.TalentLevelMessage message, ServerPlayer player, CallbackInfo ci) {
-        LOGGER.info("=== TALENT UPGRADE ATTEMPT ===");
+        String talentName = ((TalentLevelMessageAccessor) (Object) message).getTalentName();
+
+        int talentId = UnlockRegistry.id(UnlockRegistry.Type.TALENT, talentName);
         
-        // Access the talentName field via reflection or get it from the message parameter
-        // We'll use a try-catch to safely get the field
-        try {
-            java.lang.reflect.Field field = message.getClass().getDeclaredField("talentName");
-            field.setAccessible(true);
-            String talentName = (String) field.get(message);
-            
-            LOGGER.info("Talent: {}", talentName);
-            LOGGER.info("Player: {}", player.getName().getString());
+        if (!APSkillLockManager.isUnlockedSilent(player, talentId)) {
+            LOGGER.debug("Blocked talent upgrade of {} for {}", talentName, player.getName().getString());
             
-            String normalizedName = "vhtalent:" + talentName.toLowerCase().replace(" ", "_");
+            MutableComponent msg = new TextComponent("[AP] ")
+                .withStyle(ChatFormatting.RED)
+                .append(new TextComponent(talentName + " is locked! You need to receive it from Archipelago first."));
             
-            if (!APSkillLockManager.isTalentUnlockedSilent(player, normalizedName)) {
-                LOGGER.warn("BLOCKING talent upgrade!");
-                
-                MutableComponent msg = new TextComponent("[AP] ")
-                    .withStyle(ChatFormatting.RED)
-                    .append(new TextComponent(talentName + " is locked! You need to receive it from Archipelago first."));
-                
-                player.sendMessage(msg, player.getUUID());
-                ci.cancel();
-            }
-        } catch (Exception e) {
-            LOGGER.error("Failed to get talent name from message", e);
+            player.sendMessage(msg, player.getUUID());
+            ci.cancel();
         }
     }
+
+    /**
+     * The upgrade went through; check locks and progression at the end of the tick
+     */
+    @Inject(
+        method = "upgradeTalent",
+        at = @At("TAIL"),
+        remap = false
+    )
+    private static void afterTalentUpgrade(iskallia.vault.network.message.TalentLevelMessage message, ServerPlayer player, CallbackInfo ci) {
+        VHSkillEnforcer.markDirty(player);
+        VHProgressionTracker.markDirty(player, VHProgressionTracker.Category.TALENTS);
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.vhapmod.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Typed access to a TieredSkill's tiers and spent points, so VHSkillEnforcer
+ * can reset a skill without looking up fields. Every TieredSkill subclass
+ * implements this at runtime; check with instanceof.
+ */
+@Mixin(targets = "iskallia.vault.skill.base.TieredSkill", remap = false)
+public interface TieredSkillAccessor {
+
+    @Accessor(value = "tier", remap = false)
+    int getTier();
+
+    @Accessor(value = "tier", remap = false)
+    void setTier(int tier);
+
+    @Accessor(value = "bonusTier", remap = false)
+    int getBonusTier();
+
+    @Accessor(value = "bonusTier", remap = false)
+    void setBonusTier(int bonusTier);
+
+    @Invoker(value = "getSpentLearnPoints", remap = false)
+    int invokeGetSpentLearnPoints();
+}